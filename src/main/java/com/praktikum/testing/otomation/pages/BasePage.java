@@ -1,22 +1,29 @@
 package com.praktikum.testing.otomation.pages;
 
+import com.praktikum.testing.otomation.utils.AdaptiveWait;
+import com.praktikum.testing.otomation.utils.CachingElementLocatorFactory;
+import com.praktikum.testing.otomation.utils.ScreenshotRing;
+import com.praktikum.testing.otomation.utils.StaleRetryingFieldDecorator;
+import com.praktikum.testing.otomation.utils.WaitHelper;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
 public class BasePage {
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected AdaptiveWait wait;
+    protected WaitHelper waitHelper;
 
     // Constructor
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.wait = new AdaptiveWait(driver, Duration.ofSeconds(15));
+        this.waitHelper = new WaitHelper(driver);
+        // Elements are cached per page and looked up again when stale
+        PageFactory.initElements(new StaleRetryingFieldDecorator(new CachingElementLocatorFactory(driver)), this);
     }
 
     // Common methods
@@ -30,11 +37,13 @@ public class BasePage {
 
     protected void click(WebElement element) {
         waitForClickable(element);
+        ScreenshotRing.capture(driver, "click " + describe(element));
         element.click();
     }
 
     protected void enterText(WebElement element, String text) {
         waitForVisibility(element);
+        ScreenshotRing.capture(driver, "enter text into " + describe(element));
         element.clear();
         element.sendKeys(text);
     }
@@ -55,9 +64,18 @@ public class BasePage {
 
     // Navigate methods
     public void navigateTo(String url) {
+        ScreenshotRing.capture(driver, "navigate to " + url);
+        CachingElementLocatorFactory.nextGeneration(driver);
         driver.get(url);
     }
 
+    // Short element description for step logs, e.g. "By.id: login2"
+    protected String describe(WebElement element) {
+        String text = String.valueOf(element);
+        int by = text.indexOf("By.");
+        return by >= 0 ? text.substring(by).replace("'", "") : text;
+    }
+
     // Alert handling
     public void acceptAlert() {
         try {
@@ -1,5 +1,7 @@
 package com.praktikum.testing.otomation.pages;
 
+import com.praktikum.testing.otomation.utils.SiteConfig;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -32,8 +34,22 @@ public class CartPage extends BasePage {
 
     // Navigate to cart
     public void navigateToCart() {
-        driver.get("https://www.demoblaze.com/cart.html");
+        navigateTo(SiteConfig.url("cart.html"));
         wait.until(ExpectedConditions.visibilityOf(pageHeader));
+        waitForCartLoaded();
+    }
+
+    // Wait until the cart rows (loaded by AJAX) are rendered
+    public void waitForCartLoaded() {
+        waitHelper.waitForNetworkIdle();
+    }
+
+    public void waitForItems(int count) {
+        waitHelper.waitForCartRows(count);
+    }
+
+    public int getCartItemCount() {
+        return driver.findElements(By.cssSelector("#tbodyid > tr")).size();
     }
 
     // Check if on cart page
@@ -74,7 +90,7 @@ public class CartPage extends BasePage {
         try {
             click(homeButton);
         } catch (Exception e) {
-            driver.get("https://www.demoblaze.com/");
+            navigateTo(SiteConfig.siteUrl());
         }
     }
 
@@ -84,6 +100,7 @@ public class CartPage extends BasePage {
         System.out.println("On cart page: " + isOnCartPage());
         System.out.println("Page header: " + getPageHeader());
         System.out.println("Cart empty: " + isCartEmpty());
+        System.out.println("Items: " + getCartItemCount());
         System.out.println("URL: " + driver.getCurrentUrl());
     }
 }
\ No newline at end of file
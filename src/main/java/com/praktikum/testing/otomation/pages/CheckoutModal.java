@@ -1,5 +1,6 @@
 package com.praktikum.testing.otomation.pages;
 
+import com.praktikum.testing.otomation.utils.ScreenshotUtil;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -98,10 +99,17 @@ public class CheckoutModal extends BasePage {
         clickPurchase();
 
         // Wait for success modal
+        waitForPurchaseResult();
+    }
+
+    // Wait until purchase shows the success modal or a validation alert
+    public void waitForPurchaseResult() {
         try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            wait.until(ExpectedConditions.or(
+                    ExpectedConditions.alertIsPresent(),
+                    ExpectedConditions.visibilityOf(successModal)));
+        } catch (Exception e) {
+            System.out.println("No purchase result: " + e.getMessage());
         }
     }
 
@@ -114,6 +122,11 @@ public class CheckoutModal extends BasePage {
         }
     }
 
+    // Screenshot of the success popup only (not the whole window)
+    public String takeSuccessScreenshot(String name) {
+        return ScreenshotUtil.takeElementScreenshot(successModal, name);
+    }
+
     // Get success message
     public String getSuccessMessage() {
         try {
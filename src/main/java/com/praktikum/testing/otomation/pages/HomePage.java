@@ -1,15 +1,48 @@
 package com.praktikum.testing.otomation.pages;
 
+import com.praktikum.testing.otomation.utils.SiteConfig;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.util.List;
+import java.util.Map;
 
 public class HomePage extends BasePage {
 
+    // Reads every product card in one executeScript call
+    private static final String PRODUCT_CARDS_SCRIPT = String.join("\n",
+            "function text(card, selector) {",
+            "  var element = card.querySelector(selector);",
+            "  return element ? element.innerText.trim() : '';",
+            "}",
+            "return Array.prototype.map.call(document.querySelectorAll('.card'), function (card) {",
+            "  var link = card.querySelector('.card-title a');",
+            "  var image = card.querySelector('img');",
+            "  return {",
+            "    title: text(card, '.card-title'),",
+            "    price: text(card, 'h5'),",
+            "    description: text(card, '.card-text'),",
+            "    href: link ? link.getAttribute('href') : '',",
+            "    image: image ? image.src : ''",
+            "  };",
+            "});");
+
+    // Link of the first card whose title contains arguments[0], or null
+    private static final String PRODUCT_LINK_SCRIPT = String.join("\n",
+            "var cards = document.querySelectorAll('.card');",
+            "for (var i = 0; i < cards.length; i++) {",
+            "  var title = cards[i].querySelector('.card-title');",
+            "  var link = cards[i].querySelector('.card-title a');",
+            "  if (title && link && title.innerText.trim().indexOf(arguments[0]) >= 0) {",
+            "    return link;",
+            "  }",
+            "}",
+            "return null;");
+
     // Locators berdasarkan data aktual
     @FindBy(id = "login2")
     private WebElement loginLink;
@@ -35,9 +68,6 @@ public class HomePage extends BasePage {
     private WebElement monitorsCategory;
 
     // Product elements
-    @FindBy(className = "card-title")
-    private List<WebElement> productTitles;
-
     @FindBy(className = "card")
     private List<WebElement> productCards;
 
@@ -73,7 +103,7 @@ public class HomePage extends BasePage {
 
     // Navigation methods
     public void navigateToHome() {
-        driver.get("https://www.demoblaze.com/");
+        navigateTo(SiteConfig.siteUrl());
         wait.until(ExpectedConditions.visibilityOf(homeLogo));
     }
 
@@ -89,7 +119,7 @@ public class HomePage extends BasePage {
         try {
             click(signupLink);
             // Wait for modal
-            Thread.sleep(1000);
+            waitHelper.waitForModalShown("signInModal");
         } catch (Exception e) {
             System.out.println("Error clicking signup: " + e.getMessage());
         }
@@ -141,29 +171,47 @@ public class HomePage extends BasePage {
     }
 
     public void selectProductByName(String name) {
-        // Cari product dengan nama tertentu
-        for (WebElement product : productTitles) {
-            if (product.getText().contains(name)) {
-                click(product);
-                break;
-            }
+        // Cari product dengan nama tertentu (link langsung dari script, tanpa selector dari href)
+        Object link = ((JavascriptExecutor) driver).executeScript(PRODUCT_LINK_SCRIPT, name);
+        if (link instanceof WebElement) {
+            click((WebElement) link);
         }
     }
 
     public String getProductTitle(int index) {
-        if (index >= 0 && index < productTitles.size()) {
-            return getText(productTitles.get(index));
+        List<ProductCard> cards = getProductCards();
+        if (index >= 0 && index < cards.size()) {
+            return cards.get(index).title();
         }
         return "";
     }
 
+    // All product cards (title, price, description, link, image) in one round trip
+    @SuppressWarnings("unchecked")
+    public List<ProductCard> getProductCards() {
+        List<Map<String, Object>> cards = (List<Map<String, Object>>)
+                ((JavascriptExecutor) driver).executeScript(PRODUCT_CARDS_SCRIPT);
+        return cards.stream()
+                .map(card -> new ProductCard(
+                        String.valueOf(card.get("title")),
+                        String.valueOf(card.get("price")),
+                        String.valueOf(card.get("description")),
+                        String.valueOf(card.get("href")),
+                        String.valueOf(card.get("image"))))
+                .toList();
+    }
+
+    public void waitForProducts() {
+        waitHelper.waitForProducts();
+    }
+
     public int getProductCount() {
         return productCards.size();
     }
 
     public List<String> getAllProductTitles() {
-        return productTitles.stream()
-                .map(WebElement::getText)
+        return getProductCards().stream()
+                .map(ProductCard::title)
                 .toList();
     }
 
@@ -211,7 +259,7 @@ public class HomePage extends BasePage {
 
     // Verification methods
     public boolean isOnHomePage() {
-        return driver.getCurrentUrl().equals("https://www.demoblaze.com/");
+        return driver.getCurrentUrl().equals(SiteConfig.siteUrl());
     }
 
     public boolean isLoginLinkDisplayed() {
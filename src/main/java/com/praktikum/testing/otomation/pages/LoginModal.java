@@ -1,5 +1,6 @@
 package com.praktikum.testing.otomation.pages;
 
+import com.praktikum.testing.otomation.utils.FallbackElement;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -18,11 +19,11 @@ public class LoginModal extends BasePage {
     @FindBy(xpath = "//button[text()='Log in']")
     private WebElement loginButton;
 
-    @FindBy(xpath = "//button[text()='Close']")
-    private WebElement closeButton;
-
-    @FindBy(xpath = "//div[@id='logInModal']//button[@class='btn btn-secondary']")
-    private WebElement closeButton2; // Alternatif
+    // Close button dengan alternatif (tombol secondary, tombol x)
+    private final FallbackElement closeButton = new FallbackElement(driver, "login close button",
+            By.xpath("//button[text()='Close']"),
+            By.xpath("//div[@id='logInModal']//button[@class='btn btn-secondary']"),
+            By.cssSelector("#logInModal button.close"));
 
     @FindBy(id = "logInModalLabel")
     private WebElement modalTitle;
@@ -54,24 +55,13 @@ public class LoginModal extends BasePage {
 
     // Di LoginModal.java
     public void clickClose() {
-        try {
-            // Coba close button pertama
-            click(closeButton);
-        } catch (Exception e) {
-            try {
-                // Coba close button alternatif
-                click(closeButton2);
-            } catch (Exception e2) {
-                // Coba dengan XPath
-                driver.findElement(By.xpath("//button[text()='Close']")).click();
-            }
-        }
+        closeButton.click();
 
         // Tunggu modal tertutup
         try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            waitHelper.waitForModalHidden("logInModal");
+        } catch (Exception e) {
+            System.out.println("Login modal still visible: " + e.getMessage());
         }
     }
 
@@ -87,11 +77,11 @@ public class LoginModal extends BasePage {
         enterPassword(password);
         clickLogin();
 
-        // Wait for modal to close or alert to appear
+        // Wait for modal to close (success) or alert to appear (error)
         try {
-            Thread.sleep(1000); // Wait a bit
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            waitHelper.waitForAlertOrModalHidden("logInModal");
+        } catch (Exception e) {
+            System.out.println("No login result yet: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,11 @@
+package com.praktikum.testing.otomation.pages;
+
+// Product card on the home page grid, read in one round trip by HomePage.getProductCards()
+public record ProductCard(String title, String price, String description, String href, String image) {
+
+    // Product id from the link, e.g. "prod.html?idp_=1" -> "1"
+    public String id() {
+        int index = href.indexOf("idp_=");
+        return index < 0 ? "" : href.substring(index + "idp_=".length());
+    }
+}
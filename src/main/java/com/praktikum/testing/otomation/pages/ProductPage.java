@@ -1,5 +1,9 @@
 package com.praktikum.testing.otomation.pages;
 
+import com.praktikum.testing.otomation.utils.FallbackElement;
+import com.praktikum.testing.otomation.utils.ScreenshotUtil;
+import com.praktikum.testing.otomation.utils.SiteConfig;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -23,21 +27,23 @@ public class ProductPage extends BasePage {
     @FindBy(xpath = "//img[contains(@class, 'img')]")
     private WebElement productImage;
 
-    // TAMBAHKAN CART LINK LOCATORS - INI YANG HILANG!
-    @FindBy(id = "cartur") // Cart link di header/navigation
-    private WebElement cartLink;
-
-    @FindBy(linkText = "Cart") // Alternative
-    private WebElement cartLinkByText;
-
-    @FindBy(xpath = "//a[contains(text(), 'Cart')]") // Another alternative
-    private WebElement cartLinkByXpath;
+    // Cart link di header/navigation, dengan alternatif (link text, XPath)
+    private final FallbackElement cartLink = new FallbackElement(driver, "cart link",
+            By.id("cartur"),
+            By.linkText("Cart"),
+            By.xpath("//a[contains(text(), 'Cart')]"));
 
     // Constructor
     public ProductPage(WebDriver driver) {
         super(driver);
     }
 
+    // Wait until the product details are loaded (filled by AJAX after navigation)
+    public void waitForPageLoad() {
+        waitHelper.waitForUrl("prod.html");
+        wait.until("product details loaded", d -> !productName.getText().isEmpty());
+    }
+
     // Get product name dengan fallback
     public String getProductName() {
         try {
@@ -75,8 +81,7 @@ public class ProductPage extends BasePage {
 
             // Handle alert
             try {
-                Thread.sleep(1000);
-                driver.switchTo().alert().accept();
+                waitHelper.waitForAlert().accept();
                 System.out.println("Product added to cart");
             } catch (Exception e) {
                 System.out.println("No alert or error: " + e.getMessage());
@@ -89,34 +94,21 @@ public class ProductPage extends BasePage {
     // Go to cart - PERBAIKI INI!
     public void goToCart() {
         try {
-            // Coba cart link dengan ID pertama
-            if (isDisplayed(cartLink)) {
-                click(cartLink);
-                System.out.println("✓ Navigated to cart using cartur ID");
-            } else if (isDisplayed(cartLinkByText)) {
-                // Coba dengan link text
-                click(cartLinkByText);
-                System.out.println("✓ Navigated to cart using link text");
-            } else if (isDisplayed(cartLinkByXpath)) {
-                // Coba dengan XPath
-                click(cartLinkByXpath);
-                System.out.println("✓ Navigated to cart using XPath");
-            } else {
-                // Jika semua gagal, navigate langsung
-                System.out.println("Cart link not found, navigating directly");
-                driver.get("https://www.demoblaze.com/cart.html");
-            }
+            // Semua locator dicoba sekaligus, yang berhasil diingat
+            cartLink.click();
+            System.out.println("✓ Navigated to cart using " + cartLink.getMatchedLocator());
         } catch (Exception e) {
-            System.out.println("Error navigating to cart: " + e.getMessage());
-            // Fallback: navigate langsung
-            driver.get("https://www.demoblaze.com/cart.html");
+            // Jika semua gagal, navigate langsung
+            System.out.println("Cart link not found, navigating directly: " + e.getMessage());
+            navigateTo(SiteConfig.url("cart.html"));
         }
 
         // Tunggu cart page load
         try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            waitHelper.waitForUrl("cart.html");
+            waitHelper.waitForNetworkIdle();
+        } catch (Exception e) {
+            System.out.println("Cart page not loaded: " + e.getMessage());
         }
     }
 
@@ -144,9 +136,10 @@ public class ProductPage extends BasePage {
         return driver.getCurrentUrl().contains("prod.html");
     }
 
-    // Take screenshot of product
-    public void takeProductScreenshot(String testName) {
-        // This would use ScreenshotUtil
+    // Take screenshot of product (name, price, description block only)
+    public String takeProductScreenshot(String testName) {
         System.out.println("Taking screenshot of product: " + getProductName());
+        WebElement productBlock = driver.findElement(By.xpath("//h2[contains(@class, 'name')]/.."));
+        return ScreenshotUtil.takeElementScreenshot(productBlock, testName);
     }
 }
\ No newline at end of file
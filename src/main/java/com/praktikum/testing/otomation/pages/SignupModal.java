@@ -65,11 +65,11 @@ public class SignupModal extends BasePage {
         enterPassword(password);
         clickSignup();
 
-        // Handle alert if present
+        // Signup always answers with an alert (success or error)
         try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            waitHelper.waitForAlert();
+        } catch (Exception e) {
+            System.out.println("No signup alert: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,258 @@
+package com.praktikum.testing.otomation.server;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory copy of the Demoblaze backend (api.demoblaze.com).
+// Same endpoints, request bodies and response shapes as the real one, so the
+// page scripts, DemoblazeApi and CartFixture work against it unchanged:
+// errors are {"errorMessage": ...} with HTTP 200, login answers
+// "Auth_token: <token>", lists are {"Items": [...]}.
+// The catalogue comes from standin/products.json; users, tokens and carts
+// live in memory and are safe to use from many request threads.
+public class DemoblazeBackend {
+    static final int PAGE_SIZE = 9;
+    private static final String CATALOGUE = "standin/products.json";
+
+    public static final Set<String> ENDPOINTS = Set.of("/entries", "/pagination", "/bycat", "/view",
+            "/signup", "/login", "/check", "/addtocart", "/viewcart", "/deleteitem", "/deletecart");
+
+    private final List<Map<String, Object>> products;
+    private final Map<Integer, Map<String, Object>> productsById = new LinkedHashMap<>();
+
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+    private final Map<String, String> tokensByUser = new ConcurrentHashMap<>();
+    private final Map<String, String> usersByToken = new ConcurrentHashMap<>();
+
+    // Cart entries per owner (username, or the anonymous "user" cookie)
+    private final Map<String, List<Map<String, Object>>> carts = new ConcurrentHashMap<>();
+    private final Map<String, String> entryOwners = new ConcurrentHashMap<>();
+
+    public DemoblazeBackend(List<Map<String, Object>> products) {
+        List<Map<String, Object>> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingInt(product -> toInt(product.get("id"))));
+        this.products = Collections.unmodifiableList(sorted);
+        for (Map<String, Object> product : sorted) {
+            productsById.put(toInt(product.get("id")), product);
+        }
+    }
+
+    // Backend with the bundled catalogue (15 products, like the real site)
+    public static DemoblazeBackend withDefaultCatalogue() {
+        try (InputStream in = DemoblazeBackend.class.getClassLoader().getResourceAsStream(CATALOGUE)) {
+            if (in == null) {
+                throw new IllegalStateException("Catalogue not found on classpath: " + CATALOGUE);
+            }
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            List<?> items = new Json().toType(text, List.class);
+            List<Map<String, Object>> products = new ArrayList<>();
+            for (Object item : items) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> product = (Map<String, Object>) item;
+                products.add(product);
+            }
+            return new DemoblazeBackend(products);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read catalogue " + CATALOGUE, e);
+        }
+    }
+
+    // Register an account directly (plain password), e.g. from the user pool file
+    public void addUser(String username, String password) {
+        passwords.put(username, encodePassword(password));
+    }
+
+    public List<Map<String, Object>> getProducts() {
+        return products;
+    }
+
+    public boolean handles(String path) {
+        return ENDPOINTS.contains(path);
+    }
+
+    // Answer one API call; the result is serialized to JSON as is
+    public Object handle(String path, Map<String, Object> body) {
+        switch (path) {
+            case "/entries":
+                return page(0);
+            case "/pagination":
+                return page(toInt(body.get("id")));
+            case "/bycat":
+                return byCategory(String.valueOf(body.get("cat")));
+            case "/view":
+                return view(body.get("id"));
+            case "/signup":
+                return signup(String.valueOf(body.get("username")), String.valueOf(body.get("password")));
+            case "/login":
+                return login(String.valueOf(body.get("username")), String.valueOf(body.get("password")));
+            case "/check":
+                return check(String.valueOf(body.get("token")));
+            case "/addtocart":
+                return addToCart(body);
+            case "/viewcart":
+                return viewCart(String.valueOf(body.get("cookie")));
+            case "/deleteitem":
+                return deleteItem(String.valueOf(body.get("id")));
+            case "/deletecart":
+                return deleteCart(String.valueOf(body.get("cookie")));
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + path);
+        }
+    }
+
+    // Products after the given id, PAGE_SIZE at a time (entries = page after 0)
+    private Map<String, Object> page(int afterId) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        boolean more = false;
+        for (Map<String, Object> product : products) {
+            if (toInt(product.get("id")) <= afterId) {
+                continue;
+            }
+            if (items.size() == PAGE_SIZE) {
+                more = true;
+                break;
+            }
+            items.add(product);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("Items", items);
+        if (more) {
+            result.put("LastEvaluatedKey", Map.of("id", String.valueOf(items.get(items.size() - 1).get("id"))));
+        }
+        return result;
+    }
+
+    private Map<String, Object> byCategory(String category) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Map<String, Object> product : products) {
+            if (category.equals(product.get("cat"))) {
+                items.add(product);
+            }
+        }
+        return Map.of("Items", items);
+    }
+
+    private Object view(Object id) {
+        Map<String, Object> product = productsById.get(toInt(id));
+        return product != null ? product : error("Product not found.");
+    }
+
+    private Object signup(String username, String password) {
+        if (passwords.putIfAbsent(username, password) != null) {
+            return error("This user already exist.");
+        }
+        return "";
+    }
+
+    private Object login(String username, String password) {
+        String expected = passwords.get(username);
+        if (expected == null) {
+            return error("User does not exist.");
+        }
+        if (!expected.equals(password)) {
+            return error("Wrong password.");
+        }
+        String token = tokensByUser.computeIfAbsent(username, name -> {
+            String newToken = Base64.getEncoder().encodeToString(
+                    (name + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+            usersByToken.put(newToken, name);
+            return newToken;
+        });
+        return "Auth_token: " + token;
+    }
+
+    private Object check(String token) {
+        String username = usersByToken.get(token);
+        if (username == null) {
+            return error("Token does not exist.");
+        }
+        return Map.of("Item", Map.of("token", token, "username", username));
+    }
+
+    private Object addToCart(Map<String, Object> body) {
+        Object productId = body.get("prod_id");
+        if (!productsById.containsKey(toInt(productId))) {
+            return error("Product not found.");
+        }
+        String id = String.valueOf(body.getOrDefault("id", UUID.randomUUID().toString()));
+        String owner = ownerOf(String.valueOf(body.get("cookie")));
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("cookie", owner);
+        entry.put("id", id);
+        entry.put("prod_id", toInt(productId));
+        carts.computeIfAbsent(owner, key -> Collections.synchronizedList(new ArrayList<>())).add(entry);
+        entryOwners.put(id, owner);
+        return "";
+    }
+
+    private Object viewCart(String cookie) {
+        List<Map<String, Object>> entries = carts.get(ownerOf(cookie));
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (entries != null) {
+            synchronized (entries) {
+                items.addAll(entries);
+            }
+        }
+        return Map.of("Items", items);
+    }
+
+    private Object deleteItem(String id) {
+        String owner = entryOwners.remove(id);
+        List<Map<String, Object>> entries = owner == null ? null : carts.get(owner);
+        if (entries != null) {
+            entries.removeIf(entry -> id.equals(entry.get("id")));
+        }
+        return "";
+    }
+
+    private Object deleteCart(String cookie) {
+        List<Map<String, Object>> entries = carts.remove(ownerOf(cookie));
+        if (entries != null) {
+            synchronized (entries) {
+                entries.forEach(entry -> entryOwners.remove(String.valueOf(entry.get("id"))));
+            }
+        }
+        return "";
+    }
+
+    // Logged-in carts are sent with the auth token but kept per user
+    private String ownerOf(String cookie) {
+        String username = usersByToken.get(cookie);
+        return username != null ? username : cookie;
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("errorMessage", message);
+    }
+
+    // The page sends btoa(password)
+    static String encodePassword(String password) {
+        return Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    // Ids arrive as numbers or strings ("idp_" query parameter)
+    static int toInt(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return (int) Double.parseDouble(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
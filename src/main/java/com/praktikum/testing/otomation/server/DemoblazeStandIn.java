@@ -0,0 +1,358 @@
+package com.praktikum.testing.otomation.server;
+
+import com.praktikum.testing.otomation.utils.LatencyStats;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Local stand-in for www.demoblaze.com, served in-process on the loopback.
+// The pages under standin/ copy the ids, classes and texts the page objects
+// use (modals, product cards, cart table, order popup) and call the API on
+// the same server, which is answered by DemoblazeBackend. Tests then run
+// offline and at loopback latency instead of the public site's.
+// Requests are handled on a fixed thread pool, so parallel browsers and
+// API fixtures do not queue behind each other. A FaultProfile can slow
+// down, drop or fail responses per endpoint (see FaultProfile). With a
+// replay fixture (see TrafficRecorder), calls recorded on the real site are
+// answered from it, keyed by path and request body; the rest is emulated.
+//   -Ddemoblaze.standin.port     port (default 0 = any free port)
+//   -Ddemoblaze.standin.threads  request threads (default 16)
+//   -Ddemoblaze.standin.users    accounts to preload, username=password
+//                                (default: the user pool file)
+//   -Ddemoblaze.standin.replay   recorded fixture to replay (HttpFixture file)
+public class DemoblazeStandIn {
+    private static final String RESOURCES = "standin/";
+    private static final Json json = new Json();
+
+    private final DemoblazeBackend backend;
+    private final int port;
+    private final int threads;
+
+    private final Map<String, Optional<byte[]>> resources = new ConcurrentHashMap<>();
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+    private final byte[] placeholderImage = placeholderImage();
+
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private volatile FaultProfile profile = FaultProfile.NONE;
+    private volatile HttpFixture replay;
+    private final LongAdder replayHits = new LongAdder();
+    private final LongAdder replayMisses = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private String baseUrl;
+
+    public DemoblazeStandIn(DemoblazeBackend backend, int port, int threads) {
+        this.backend = backend;
+        this.port = port;
+        this.threads = Math.max(1, threads);
+    }
+
+    // Stand-in configured from system properties, with the pooled accounts registered
+    public static DemoblazeStandIn fromSystemProperties() {
+        DemoblazeBackend backend = DemoblazeBackend.withDefaultCatalogue();
+        Path usersFile = Paths.get(System.getProperty("demoblaze.standin.users",
+                System.getProperty("user.pool.file", "test-data/user-pool.properties")));
+        loadUsers(backend, usersFile);
+        DemoblazeStandIn standIn = new DemoblazeStandIn(backend,
+                Integer.getInteger("demoblaze.standin.port", 0),
+                Integer.getInteger("demoblaze.standin.threads", 16));
+        standIn.setProfile(FaultProfile.fromSystemProperties());
+        String replayFile = System.getProperty("demoblaze.standin.replay");
+        if (replayFile != null && !replayFile.isBlank()) {
+            standIn.setReplay(HttpFixture.load(Paths.get(replayFile)));
+            System.out.println("Stand-in replaying " + standIn.replay.size() + " recorded response(s) from " + replayFile);
+        }
+        return standIn;
+    }
+
+    // Start serving; returns the base URL, e.g. http://127.0.0.1:41234
+    public synchronized String start() {
+        if (server != null) {
+            return baseUrl;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "standin-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Headers and body go out as separate writes; with Nagle on, every response
+        // waits for the client's delayed ACK (~40ms). Read once, before the first server.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 256);
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Cannot start Demoblaze stand-in on port " + port, e);
+        }
+        AtomicInteger delayThreadCount = new AtomicInteger();
+        // Delayed responses wait here instead of holding a request thread
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "standin-delay-" + delayThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        System.out.println("Demoblaze stand-in running at " + baseUrl + " (" + threads + " threads)");
+        return baseUrl;
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        System.out.println("Demoblaze stand-in stopped");
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public DemoblazeBackend getBackend() {
+        return backend;
+    }
+
+    // Latency/fault profile applied to the next requests
+    public void setProfile(FaultProfile profile) {
+        this.profile = profile;
+        if (profile != FaultProfile.NONE) {
+            System.out.println(profile.describe());
+        }
+    }
+
+    public FaultProfile getProfile() {
+        return profile;
+    }
+
+    // Answer recorded calls from the fixture, the rest is still emulated (null = emulate all)
+    public void setReplay(HttpFixture replay) {
+        this.replay = replay;
+    }
+
+    // Response time per endpoint as the client sees it (injected delays included), busiest first
+    public void printStats() {
+        System.out.println("=== DEMOBLAZE STAND-IN ===");
+        System.out.println("Profile: " + profile.getName() + ", injected errors: " + errors.sum()
+                + ", dropped responses: " + drops.sum());
+        if (replay != null) {
+            System.out.println("Replay: " + replayHits.sum() + " recorded, " + replayMisses.sum() + " emulated");
+        }
+        stats.values().stream()
+                .sorted(Comparator.comparingLong(LatencyStats::getCount).reversed())
+                .forEach(endpoint -> System.out.println(endpoint.summary()));
+    }
+
+    private void handle(HttpExchange exchange) {
+        long start = System.nanoTime();
+        String path = exchange.getRequestURI().getPath();
+        String endpoint = backend.handles(path) ? path.substring(1) : "static";
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+
+        Response response;
+        FaultProfile.Decision decision = FaultProfile.PASS;
+        try {
+            if ("OPTIONS".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "GET, POST, OPTIONS");
+                exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type");
+                response = new Response(204, "text/plain", new byte[0]);
+            } else {
+                decision = profile.next(endpoint);
+                if (decision.isError()) {
+                    // Rejected before it reaches the backend, like an overloaded gateway
+                    errors.increment();
+                    response = new Response(decision.errorStatus, "text/plain",
+                            ("Injected fault on " + path).getBytes(StandardCharsets.UTF_8));
+                } else if (backend.handles(path)) {
+                    response = handleApi(exchange, path);
+                } else {
+                    response = handleStatic(exchange, path);
+                }
+            }
+        } catch (RuntimeException | IOException e) {
+            System.out.println("Stand-in error on " + path + ": " + e);
+            response = new Response(500, "text/plain", String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        if (decision.drop) {
+            // Processed, but the answer never arrives: the connection is closed without a response
+            drops.increment();
+            scheduler.schedule(() -> finish(exchange, null, endpoint, start), decision.delayMillis, TimeUnit.MILLISECONDS);
+        } else if (decision.delayMillis > 0) {
+            Response delayed = response;
+            scheduler.schedule(() -> finish(exchange, delayed, endpoint, start), decision.delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            finish(exchange, response, endpoint, start);
+        }
+    }
+
+    private Response handleApi(HttpExchange exchange, String path) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return new Response(405, "text/plain", new byte[0]);
+        }
+        String text = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        if (replay != null) {
+            HttpFixture.Recorded recorded = replay.get("POST", path, text);
+            if (recorded != null) {
+                replayHits.increment();
+                return new Response(recorded.status, recorded.contentType, recorded.body);
+            }
+            replayMisses.increment();
+        }
+        Map<String, Object> body = text.isBlank() ? Map.of() : json.toType(text, Json.MAP_TYPE);
+        return new Response(200, "application/json", toJson(backend.handle(path, body)));
+    }
+
+    private Response handleStatic(HttpExchange exchange, String path) {
+        String name = path.equals("/") ? "index.html" : path.substring(1);
+        if (name.startsWith("imgs/") || name.equals("bm.png")) {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            return new Response(200, "image/png", placeholderImage);
+        }
+
+        Optional<byte[]> content = name.contains("..") ? Optional.empty()
+                : resources.computeIfAbsent(name, DemoblazeStandIn::readResource);
+        if (content.isEmpty()) {
+            return new Response(404, "text/plain", ("Not found: " + path).getBytes(StandardCharsets.UTF_8));
+        }
+        if (!name.endsWith(".html")) {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+        }
+        return new Response(200, contentType(name), content.get());
+    }
+
+    // Send the response (or just close the connection when it is null) and record the time
+    private void finish(HttpExchange exchange, Response response, String endpoint, long start) {
+        try {
+            if (response != null) {
+                exchange.getResponseHeaders().set("Content-Type", response.contentType());
+                byte[] body = response.body();
+                exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+                if (body.length > 0) {
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Client went away (e.g. page navigated during an injected delay)
+        } finally {
+            exchange.close();
+            stats.computeIfAbsent(endpoint, LatencyStats::new).recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    static byte[] toJson(Object value) {
+        StringBuilder sb = new StringBuilder();
+        try (JsonOutput out = json.newOutput(sb)) {
+            out.setPrettyPrint(false).write(value);
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Optional<byte[]> readResource(String name) {
+        try (InputStream in = DemoblazeStandIn.class.getClassLoader().getResourceAsStream(RESOURCES + name)) {
+            return in == null ? Optional.empty() : Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".html")) {
+            return "text/html; charset=utf-8";
+        } else if (name.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        } else if (name.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        } else if (name.endsWith(".json")) {
+            return "application/json";
+        }
+        return "application/octet-stream";
+    }
+
+    // Grey box used for every product image
+    private static byte[] placeholderImage() {
+        BufferedImage image = new BufferedImage(160, 120, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(0xDD, 0xDD, 0xDD));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void loadUsers(DemoblazeBackend backend, Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties users = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            users.load(in);
+        } catch (IOException e) {
+            System.out.println("Cannot read stand-in users from " + file + ": " + e.getMessage());
+            return;
+        }
+        users.stringPropertyNames().forEach(name -> backend.addUser(name, users.getProperty(name)));
+        System.out.println("Stand-in accounts loaded: " + users.size() + " from " + file);
+    }
+
+    private record Response(int status, String contentType, byte[] body) {
+    }
+
+    // Run the stand-in on its own, e.g. to look at it in a browser
+    public static void main(String[] args) throws InterruptedException {
+        DemoblazeStandIn standIn = fromSystemProperties();
+        standIn.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::stop));
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,253 @@
+package com.praktikum.testing.otomation.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latency and fault profile of the stand-in, per endpoint.
+// Loaded from a properties file; keys are <endpoint>.<setting>, where the
+// endpoint is the API path without "/" (viewcart, addtocart, ...), "static"
+// for pages and images, or "default" for everything not listed:
+//   viewcart.delay       fixed:<ms> | uniform:<min>:<max> | normal:<mean>:<stddev>
+//                        | lognormal:<median>:<sigma>   (default fixed:0)
+//   viewcart.jitter      +/- ms added on top, uniform (default 0)
+//   viewcart.drop        probability the response is never sent (default 0)
+//   viewcart.dropAfter   ms before a dropped connection is closed (default 30000)
+//   viewcart.error       probability a 5xx burst starts (default 0)
+//   viewcart.errorBurst  requests answered with the error once a burst starts (default 1)
+//   viewcart.errorStatus status of the burst (default 503)
+// Every decision is drawn from a random seeded with the profile seed, the
+// endpoint and the request number on that endpoint, so the n-th call of an
+// endpoint sees the same delay and fault in every run, whatever the thread
+// interleaving. Bursts too: call n is in a burst when one of the calls
+// n-errorBurst+1..n drew an error with its own seeded random.
+//   -Ddemoblaze.standin.profile  profile file, or a bundled one by name
+//                                (standin/profiles/<name>.properties, e.g. slow-3g, flaky)
+//   -Ddemoblaze.standin.seed     seed (default 42)
+public class FaultProfile {
+    private static final String BUNDLED = "standin/profiles/";
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    // Separate stream for the error draw, so it does not depend on the delay distribution
+    private static final long ERROR_SALT = 0x5DEECE66DL;
+
+    // Answer right away
+    static final Decision PASS = new Decision(0, false, 0);
+
+    // No delay, no faults
+    public static final FaultProfile NONE = new FaultProfile("none", new Properties(), 0);
+
+    private final String name;
+    private final Properties settings;
+    private final long seed;
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+
+    // What to do with one response
+    public static final class Decision {
+        public final long delayMillis;
+        public final boolean drop;
+        public final int errorStatus;
+
+        Decision(long delayMillis, boolean drop, int errorStatus) {
+            this.delayMillis = delayMillis;
+            this.drop = drop;
+            this.errorStatus = errorStatus;
+        }
+
+        public boolean isError() {
+            return errorStatus > 0;
+        }
+    }
+
+    public FaultProfile(String name, Properties settings, long seed) {
+        this.name = name;
+        this.settings = settings;
+        this.seed = seed;
+        // Fail on a bad setting when the profile is loaded, not on the first request
+        for (String endpoint : endpoints()) {
+            try {
+                ruleFor(endpoint).sampleDelay(new SplittableRandom(seed));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Bad fault profile setting for " + endpoint + " in " + name, e);
+            }
+        }
+    }
+
+    // Profile from -Ddemoblaze.standin.profile, or NONE
+    public static FaultProfile fromSystemProperties() {
+        String profile = System.getProperty("demoblaze.standin.profile");
+        if (profile == null || profile.isBlank()) {
+            return NONE;
+        }
+        return load(profile, Long.getLong("demoblaze.standin.seed", 42L));
+    }
+
+    // Profile from a file path or a bundled profile name
+    public static FaultProfile load(String profile, long seed) {
+        Properties settings = new Properties();
+        Path file = Paths.get(profile);
+        try (InputStream in = Files.exists(file) ? Files.newInputStream(file)
+                : FaultProfile.class.getClassLoader().getResourceAsStream(BUNDLED + profile + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Fault profile not found: " + profile);
+            }
+            settings.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read fault profile " + profile, e);
+        }
+        return new FaultProfile(profile, settings, seed);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Decide delay and fault for the next request to the endpoint
+    public Decision next(String endpoint) {
+        if (this == NONE) {
+            return PASS;
+        }
+        return rules.computeIfAbsent(endpoint, this::ruleFor).next();
+    }
+
+    // One line per configured endpoint, e.g. "viewcart: delay=lognormal:400:0.6 drop=0.02 ..."
+    public String describe() {
+        StringBuilder sb = new StringBuilder("Fault profile '" + name + "' (seed " + seed + ")");
+        for (String endpoint : endpoints()) {
+            sb.append(String.format("%n  %s", ruleFor(endpoint)));
+        }
+        return sb.toString();
+    }
+
+    private Set<String> endpoints() {
+        Set<String> endpoints = new TreeSet<>();
+        for (String key : settings.stringPropertyNames()) {
+            endpoints.add(key.substring(0, Math.max(0, key.lastIndexOf('.'))));
+        }
+        return endpoints;
+    }
+
+    private Rule ruleFor(String endpoint) {
+        String key = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+        return new Rule(key,
+                setting(key, "delay", "fixed:0"),
+                Long.parseLong(setting(key, "jitter", "0")),
+                Double.parseDouble(setting(key, "drop", "0")),
+                Long.parseLong(setting(key, "dropAfter", "30000")),
+                Double.parseDouble(setting(key, "error", "0")),
+                Integer.parseInt(setting(key, "errorBurst", "1")),
+                Integer.parseInt(setting(key, "errorStatus", "503")),
+                seed ^ (key.hashCode() * GOLDEN_GAMMA));
+    }
+
+    private String setting(String endpoint, String setting, String defaultValue) {
+        String value = settings.getProperty(endpoint + "." + setting);
+        if (value == null) {
+            value = settings.getProperty("default." + setting, defaultValue);
+        }
+        return value.trim();
+    }
+
+    // Settings of one endpoint plus its request counter
+    private static final class Rule {
+        private final String endpoint;
+        private final String delay;
+        private final String[] distribution;
+        private final long jitter;
+        private final double dropRate;
+        private final long dropAfter;
+        private final double errorRate;
+        private final int errorBurst;
+        private final int errorStatus;
+        private final long seed;
+
+        private final AtomicLong requests = new AtomicLong();
+
+        Rule(String endpoint, String delay, long jitter, double dropRate, long dropAfter,
+             double errorRate, int errorBurst, int errorStatus, long seed) {
+            this.endpoint = endpoint;
+            this.delay = delay;
+            this.distribution = delay.split(":");
+            this.jitter = jitter;
+            this.dropRate = dropRate;
+            this.dropAfter = dropAfter;
+            this.errorRate = errorRate;
+            this.errorBurst = Math.max(1, errorBurst);
+            this.errorStatus = errorStatus;
+            this.seed = seed;
+        }
+
+        Decision next() {
+            long request = requests.incrementAndGet();
+            SplittableRandom random = new SplittableRandom(seed + request * GOLDEN_GAMMA);
+            long delayMillis = sampleDelay(random);
+            if (jitter > 0) {
+                delayMillis += random.nextLong(-jitter, jitter + 1);
+            }
+            delayMillis = Math.max(0, delayMillis);
+
+            if (dropRate > 0 && random.nextDouble() < dropRate) {
+                return new Decision(dropAfter, true, 0);
+            }
+            if (inErrorBurst(request)) {
+                return new Decision(delayMillis, false, errorStatus);
+            }
+            return delayMillis == 0 ? PASS : new Decision(delayMillis, false, 0);
+        }
+
+        // Depends on the request number only, not on which requests came first
+        private boolean inErrorBurst(long request) {
+            if (errorRate <= 0) {
+                return false;
+            }
+            for (long start = Math.max(1, request - errorBurst + 1); start <= request; start++) {
+                if (new SplittableRandom((seed ^ ERROR_SALT) + start * GOLDEN_GAMMA).nextDouble() < errorRate) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long sampleDelay(SplittableRandom random) {
+            switch (distribution[0]) {
+                case "fixed":
+                    return Long.parseLong(distribution[1]);
+                case "uniform":
+                    return random.nextLong(Long.parseLong(distribution[1]), Long.parseLong(distribution[2]) + 1);
+                case "normal":
+                    return Math.round(Double.parseDouble(distribution[1])
+                            + gaussian(random) * Double.parseDouble(distribution[2]));
+                case "lognormal":
+                    // Median and sigma of the underlying normal, gives the long tail real networks have
+                    return Math.round(Double.parseDouble(distribution[1])
+                            * Math.exp(gaussian(random) * Double.parseDouble(distribution[2])));
+                default:
+                    throw new IllegalArgumentException("Unknown delay distribution for " + endpoint + ": " + delay);
+            }
+        }
+
+        // Box-Muller, SplittableRandom has no nextGaussian before Java 17
+        private static double gaussian(SplittableRandom random) {
+            double u = 1.0 - random.nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: delay=%s jitter=%d drop=%.3f error=%.3f x%d (%d)",
+                    endpoint, delay, jitter, dropRate, errorRate, errorBurst, errorStatus);
+        }
+    }
+}
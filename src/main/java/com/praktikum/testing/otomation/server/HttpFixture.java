@@ -0,0 +1,179 @@
+package com.praktikum.testing.otomation.server;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Recorded backend responses, looked up by method + path + request body hash.
+// The request body is hashed after normalizing the JSON (keys sorted, no
+// whitespace), so the same call from jQuery, fetch or DemoblazeApi maps to
+// the same entry. One response is kept per key (the latest recording).
+// On disk it is one JSON object per line, gzip-compressed when the file name
+// ends with .gz:
+//   {"key":"POST /view 5c1e0d3a8b7f2e41","status":200,"type":"application/json","body":"{...}"}
+public class HttpFixture {
+    private static final Json json = new Json();
+
+    // A recorded response, body already encoded for sending
+    public static final class Recorded {
+        public final int status;
+        public final String contentType;
+        public final byte[] body;
+
+        Recorded(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    private final Map<String, Recorded> index = new ConcurrentHashMap<>();
+
+    // Fixture from a file; empty if the file does not exist yet
+    public static HttpFixture load(Path file) {
+        HttpFixture fixture = new HttpFixture();
+        if (!Files.exists(file)) {
+            return fixture;
+        }
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = isGzip(file) ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> entry = json.toType(line, Json.MAP_TYPE);
+                    fixture.index.put(String.valueOf(entry.get("key")), new Recorded(
+                            ((Number) entry.get("status")).intValue(),
+                            String.valueOf(entry.get("type")),
+                            String.valueOf(entry.get("body")).getBytes(StandardCharsets.UTF_8)));
+                } catch (JsonException | ClassCastException e) {
+                    // Skip a damaged line, keep the rest
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read HTTP fixture " + file, e);
+        }
+        return fixture;
+    }
+
+    public void put(String method, String path, String requestBody, int status, String contentType, String responseBody) {
+        index.put(key(method, path, requestBody), new Recorded(status, contentType,
+                responseBody.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Recorded response for the request, or null
+    public Recorded get(String method, String path, String requestBody) {
+        return index.isEmpty() ? null : index.get(key(method, path, requestBody));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Write all entries, sorted by key so re-recording gives small diffs
+    public void save(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream raw = Files.newOutputStream(tmp);
+                 OutputStream out = isGzip(file) ? new GZIPOutputStream(raw) : raw;
+                 Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Recorded> entry : new TreeMap<>(index).entrySet()) {
+                    Map<String, Object> line = new TreeMap<>();
+                    line.put("key", entry.getKey());
+                    line.put("status", entry.getValue().status);
+                    line.put("type", entry.getValue().contentType);
+                    line.put("body", new String(entry.getValue().body, StandardCharsets.UTF_8));
+                    writer.write(toJson(line));
+                    writer.write('\n');
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write HTTP fixture " + file, e);
+        }
+    }
+
+    // e.g. "POST /view 5c1e0d3a8b7f2e41"
+    static String key(String method, String path, String body) {
+        return method.toUpperCase() + " " + path + " " + hash(normalize(body));
+    }
+
+    // Same JSON, same text: keys sorted, no whitespace; non-JSON bodies as they are
+    static String normalize(String body) {
+        if (body == null || body.isBlank()) {
+            return "";
+        }
+        try {
+            return toJson(sorted(json.toType(body, Object.class)));
+        } catch (JsonException e) {
+            return body;
+        }
+    }
+
+    private static Object sorted(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> map = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> map.put(String.valueOf(key), sorted(item)));
+            return map;
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            ((List<?>) value).forEach(item -> list.add(sorted(item)));
+            return list;
+        }
+        return value;
+    }
+
+    // First 64 bits of SHA-256, plenty to tell request bodies apart
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toJson(Object value) {
+        StringBuilder sb = new StringBuilder();
+        try (JsonOutput out = json.newOutput(sb)) {
+            out.setPrettyPrint(false).write(value);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isGzip(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+}
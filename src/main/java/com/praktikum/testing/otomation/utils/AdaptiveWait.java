@@ -0,0 +1,191 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Drop-in replacement for WebDriverWait with adaptive polling.
+// The condition is checked immediately; after that polling starts tight
+// (10 ms) and backs off exponentially up to 500 ms. For every condition the
+// typical completion time is learned (moving average, saved between runs),
+// so the first retry is scheduled just before the condition usually becomes
+// true instead of hammering the driver. Per-condition histograms show the
+// slow pages.
+//   -Dwait.stats.file  learned timings (default target/wait-stats.properties)
+public class AdaptiveWait implements Wait<WebDriver> {
+    private static final long MIN_POLL_MS = 10;
+    private static final long MAX_POLL_MS = 500;
+    private static final double LEARNING_RATE = 0.2;
+
+    private static final Path STATS_FILE = Paths.get(
+            System.getProperty("wait.stats.file", "target/wait-stats.properties"));
+
+    private static final Map<String, Double> typicalMillis = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyStats> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> timeouts = new ConcurrentHashMap<>();
+    private static final Map<String, Long> limitMillis = new ConcurrentHashMap<>();
+
+    static {
+        loadStats();
+        Runtime.getRuntime().addShutdownHook(new Thread(AdaptiveWait::saveStats));
+    }
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public AdaptiveWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    // Same contract as WebDriverWait.until, keyed by the condition description
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(String.valueOf(condition), condition);
+    }
+
+    public <T> T until(String description, Function<? super WebDriver, T> condition) {
+        String key = keyOf(description);
+        limitMillis.put(key, timeout.toMillis());
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Double typical = typicalMillis.get(key);
+        boolean jumpedToTypical = false;
+        long backoff = MIN_POLL_MS;
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    learn(key, System.nanoTime() - start);
+                    return value;
+                }
+                lastError = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                histogram(key).recordNanos(now - start);
+                timeouts.merge(key, 1, Integer::sum);
+                throw new TimeoutException(String.format(
+                        "Expected condition failed: waiting for %s (tried for %d second(s) with adaptive polling)",
+                        description, timeout.getSeconds()), lastError);
+            }
+
+            long sleepMs;
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(now - start);
+            if (!jumpedToTypical && typical != null && typical * 0.8 > elapsedMs) {
+                // Skip ahead to just before the usual completion time
+                sleepMs = Math.min(MAX_POLL_MS, Math.round(typical * 0.8) - elapsedMs);
+                jumpedToTypical = true;
+            } else {
+                sleepMs = backoff;
+                backoff = Math.min(MAX_POLL_MS, backoff * 2);
+            }
+            sleepMs = Math.max(MIN_POLL_MS, Math.min(sleepMs, TimeUnit.NANOSECONDS.toMillis(deadline - now) + 1));
+
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException(e);
+            }
+        }
+    }
+
+    // Record a wait done outside until() (e.g. the in-page MutationObserver wait)
+    public static void record(String description, long nanos, Duration timeout) {
+        String key = keyOf(description);
+        limitMillis.put(key, timeout.toMillis());
+        learn(key, nanos);
+    }
+
+    // Histograms per condition, slowest (p90) first, with the headroom left
+    // before the timeout (how many times slower the site may get at p99)
+    public static void printHistograms() {
+        System.out.println("=== WAIT HISTOGRAMS ===");
+        histograms.values().stream()
+                .sorted(Comparator.comparingDouble((LatencyStats stats) -> stats.getPercentileMillis(90)).reversed())
+                .forEach(stats -> {
+                    System.out.println(stats.histogram());
+                    Integer timeoutCount = timeouts.get(stats.getName());
+                    if (timeoutCount != null) {
+                        System.out.println("  timeouts: " + timeoutCount);
+                    }
+                    Long limit = limitMillis.get(stats.getName());
+                    if (limit != null) {
+                        double p99 = stats.getPercentileMillis(99);
+                        System.out.println(String.format("  headroom: p99 %.0fms of %dms timeout (%.1fx)",
+                                p99, limit, limit / Math.max(1.0, p99)));
+                    }
+                });
+    }
+
+    public static void saveStats() {
+        Properties properties = new Properties();
+        typicalMillis.forEach((key, millis) -> properties.setProperty(key, String.format(Locale.ROOT, "%.1f", millis)));
+        try {
+            if (STATS_FILE.getParent() != null) {
+                Files.createDirectories(STATS_FILE.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(STATS_FILE)) {
+                properties.store(out, "Typical wait completion time (ms) per condition");
+            }
+        } catch (IOException e) {
+            System.out.println("Cannot save wait stats: " + e.getMessage());
+        }
+    }
+
+    private static void loadStats() {
+        if (!Files.exists(STATS_FILE)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(STATS_FILE)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                typicalMillis.put(key, Double.parseDouble(properties.getProperty(key)));
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Cannot load wait stats: " + e.getMessage());
+        }
+    }
+
+    private static void learn(String key, long nanos) {
+        histogram(key).recordNanos(nanos);
+        double millis = nanos / 1_000_000.0;
+        typicalMillis.merge(key, millis, (old, sample) -> old + LEARNING_RATE * (sample - old));
+    }
+
+    private static LatencyStats histogram(String key) {
+        return histograms.computeIfAbsent(key, LatencyStats::new);
+    }
+
+    // Lambdas print as "Foo$$Lambda$12/0x0000...@1b2c3d", strip the per-run parts
+    private static String keyOf(String description) {
+        return description.replaceAll("\\$\\$Lambda\\$\\d+", "\\$\\$Lambda")
+                .replaceAll("/0x[0-9a-f]+", "")
+                .replaceAll("@[0-9a-f]+", "");
+    }
+}
@@ -0,0 +1,329 @@
+package com.praktikum.testing.otomation.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Shopping journey of EndToEndTest at the protocol level, for thousands of
+// simulated shoppers without browsers.
+// Each shopper makes the backend calls the pages make (home: /entries,
+// product page: /view, Add to cart: /addtocart, cart page: /viewcart plus
+// /view per item, Place Order: /deletecart) with its own user cookie, and
+// repeats the journey until the steady state is over. Shoppers are not
+// threads: a journey is a chain of async DemoblazeApi calls, think time is a
+// scheduled callback, and a semaphore caps the requests in flight so the
+// client does not open thousands of connections. Step latency is what the
+// shopper sees, wait for a permit included; the permit wait is reported on
+// its own as well, so client-side queueing can be told from a slow server.
+// Ramp-up, steady state and think time are the same settings as for
+// VirtualUserLoad, only journeys started in the steady state are measured
+// (completed and failed alike).
+//   -Dload.shoppers   simulated shoppers (default 1000)
+//   -Dload.inFlight   max concurrent requests (default 128)
+public class ApiLoad {
+    private static final String[] STEPS = {"home", "product", "add to cart", "cart", "purchase"};
+
+    private final DemoblazeApi api;
+    private int shoppers = Integer.getInteger("load.shoppers", 1000);
+    private int maxInFlight = Integer.getInteger("load.inFlight", 128);
+    private Duration rampUp = Duration.ofSeconds(Long.getLong("load.rampUp", 30));
+    private Duration steadyState = Duration.ofSeconds(Long.getLong("load.steady", 120));
+    private long thinkMinMillis = Long.getLong("load.think.min", 500);
+    private long thinkMaxMillis = Long.getLong("load.think.max", 2000);
+
+    private final Map<String, LatencyStats> steps = new LinkedHashMap<>();
+    private final Map<String, LongAdder> failures = new LinkedHashMap<>();
+    private final LatencyStats journeys = new LatencyStats("journey");
+    private final LatencyStats permitWait = new LatencyStats("request permit");
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // Failures during ramp-up, reported but not part of the measured window
+    private final LongAdder rampUpFailed = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    // Requests waiting for a permit, started in order as permits come back
+    private Semaphore inFlight;
+    private final Queue<CompletableFuture<Void>> waiting = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService scheduler;
+
+    public ApiLoad() {
+        this(new DemoblazeApi());
+    }
+
+    public ApiLoad(DemoblazeApi api) {
+        this.api = api;
+        // Fixed set of steps, so the maps are only read while running
+        for (String step : STEPS) {
+            steps.put(step, new LatencyStats(step));
+            failures.put(step, new LongAdder());
+        }
+    }
+
+    public ApiLoad shoppers(int shoppers) {
+        this.shoppers = Math.max(1, shoppers);
+        return this;
+    }
+
+    public ApiLoad maxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        return this;
+    }
+
+    public ApiLoad rampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    public ApiLoad steadyState(Duration steadyState) {
+        this.steadyState = steadyState;
+        return this;
+    }
+
+    public ApiLoad thinkTime(Duration min, Duration max) {
+        this.thinkMinMillis = min.toMillis();
+        this.thinkMaxMillis = Math.max(min.toMillis(), max.toMillis());
+        return this;
+    }
+
+    // Run all phases; returns when every shopper has finished its last journey
+    public ApiLoad run() {
+        System.out.println(String.format("=== API LOAD: %d shopper(s) on %s, %d in flight, ramp-up %ds, steady %ds, think %d-%dms ===",
+                shoppers, api.getBaseUrl(), maxInFlight, rampUp.getSeconds(), steadyState.getSeconds(),
+                thinkMinMillis, thinkMaxMillis));
+
+        inFlight = new Semaphore(maxInFlight);
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "api-load-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch done = new CountDownLatch(shoppers);
+
+        long start = System.nanoTime();
+        long steadyStart = start + rampUp.toNanos();
+        long end = steadyStart + steadyState.toNanos();
+        for (int i = 0; i < shoppers; i++) {
+            long delay = rampUp.toNanos() * i / shoppers;
+            scheduler.schedule(() -> nextJourney(steadyStart, end, done), delay, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            // Journeys started just before the end still finish
+            if (!done.await(rampUp.plus(steadyState).plusMinutes(2).toMillis(), TimeUnit.MILLISECONDS)) {
+                System.out.println("API load did not finish in time, " + done.getCount() + " shopper(s) still busy");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            scheduler.shutdownNow();
+        }
+        return this;
+    }
+
+    // One journey of one shopper, then think and start the next one
+    private void nextJourney(long steadyStart, long end, CountDownLatch done) {
+        long journeyStart = System.nanoTime();
+        if (journeyStart >= end) {
+            done.countDown();
+            return;
+        }
+        boolean measured = journeyStart >= steadyStart;
+        String cookie = UUID.randomUUID().toString();
+
+        step("home", measured, () -> call("/entries", Map.of()))
+                .thenCompose(entries -> think().thenCompose(ignored -> {
+                    int productId = pickProduct(entries);
+                    return step("product", measured, () -> call("/view", Map.of("id", String.valueOf(productId))))
+                            .thenApply(product -> productId);
+                }))
+                .thenCompose(productId -> think().thenCompose(ignored ->
+                        step("add to cart", measured, () -> call("/addtocart", Map.of(
+                                "id", UUID.randomUUID().toString(),
+                                "cookie", cookie,
+                                "prod_id", productId,
+                                "flag", false)))))
+                .thenCompose(added -> think().thenCompose(ignored ->
+                        step("cart", measured, () -> viewCart(cookie))))
+                .thenCompose(cart -> think().thenCompose(ignored ->
+                        // The order itself is only an alert on the page, the backend just empties the cart
+                        step("purchase", measured, () -> call("/deletecart", Map.of("cookie", cookie)))))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        (measured ? failed : rampUpFailed).increment();
+                    } else if (measured) {
+                        journeys.recordNanos(System.nanoTime() - journeyStart);
+                        completed.increment();
+                    }
+                    think().thenRun(() -> nextJourney(steadyStart, end, done));
+                });
+    }
+
+    // Cart page: the cart entries, then every product in it (in parallel, like the page)
+    private CompletableFuture<Object> viewCart(String cookie) {
+        return call("/viewcart", Map.of("cookie", cookie, "flag", false)).thenCompose(cart -> {
+            List<?> items = itemsOf(cart);
+            if (items.isEmpty()) {
+                throw new IllegalStateException("Cart is empty after add to cart");
+            }
+            List<CompletableFuture<Object>> products = new ArrayList<>();
+            for (Object item : items) {
+                Object productId = ((Map<?, ?>) item).get("prod_id");
+                products.add(call("/view", Map.of("id", String.valueOf(productId))));
+            }
+            return CompletableFuture.allOf(products.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> cart);
+        });
+    }
+
+    private <T> CompletableFuture<T> step(String name, boolean measured, Supplier<CompletableFuture<T>> action) {
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> {
+            if (!measured) {
+                return;
+            }
+            if (error != null) {
+                failures.get(name).increment();
+            } else {
+                steps.get(name).recordNanos(System.nanoTime() - start);
+            }
+        });
+    }
+
+    // One backend call, started once a permit is free
+    private CompletableFuture<Object> call(String path, Map<String, ?> body) {
+        long queued = System.nanoTime();
+        return acquire().thenCompose(ignored -> {
+            permitWait.recordNanos(System.nanoTime() - queued);
+            requests.increment();
+            CompletableFuture<Object> response;
+            try {
+                response = api.postAsync(path, body);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            return response.whenComplete((value, error) -> release());
+        }).thenApply(response -> {
+            if (response instanceof Map && ((Map<?, ?>) response).containsKey("errorMessage")) {
+                throw new IllegalStateException(path + " failed: " + ((Map<?, ?>) response).get("errorMessage"));
+            }
+            return response;
+        });
+    }
+
+    private CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        waiting.add(permit);
+        drain();
+        return permit;
+    }
+
+    private void release() {
+        inFlight.release();
+        drain();
+    }
+
+    // Hand free permits to waiting requests; called after every add and every release,
+    // so a waiting request is never left behind with a permit free
+    private void drain() {
+        while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+            CompletableFuture<Void> next = waiting.poll();
+            if (next == null) {
+                inFlight.release();
+                return;
+            }
+            next.complete(null);
+        }
+    }
+
+    private CompletableFuture<Void> think() {
+        long millis = thinkMaxMillis <= thinkMinMillis ? thinkMinMillis
+                : ThreadLocalRandom.current().nextLong(thinkMinMillis, thinkMaxMillis + 1);
+        CompletableFuture<Void> pause = new CompletableFuture<>();
+        if (millis <= 0) {
+            pause.complete(null);
+        } else {
+            scheduler.schedule(() -> pause.complete(null), millis, TimeUnit.MILLISECONDS);
+        }
+        return pause;
+    }
+
+    // A random product from the home page, so the load spreads over the catalogue
+    private static int pickProduct(Object entries) {
+        List<?> items = itemsOf(entries);
+        if (items.isEmpty()) {
+            throw new IllegalStateException("Home page has no products");
+        }
+        Object id = ((Map<?, ?>) items.get(ThreadLocalRandom.current().nextInt(items.size()))).get("id");
+        return id instanceof Number ? ((Number) id).intValue() : Integer.parseInt(String.valueOf(id));
+    }
+
+    private static List<?> itemsOf(Object response) {
+        if (response instanceof Map && ((Map<?, ?>) response).get("Items") instanceof List) {
+            return (List<?>) ((Map<?, ?>) response).get("Items");
+        }
+        return Collections.emptyList();
+    }
+
+    // Journeys completed per minute of steady state
+    public double getThroughputPerMinute() {
+        double minutes = steadyState.toMillis() / 60_000.0;
+        return minutes == 0 ? 0 : completed.sum() / minutes;
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    // Journeys started in the steady state that failed (same window as getCompleted)
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public LatencyStats getStepStats(String step) {
+        return steps.get(step);
+    }
+
+    public void printReport() {
+        System.out.println("=== API LOAD REPORT ===");
+        System.out.println(String.format("Shoppers: %d, journeys: %d completed, %d failed, requests: %d",
+                shoppers, completed.sum(), failed.sum(), requests.sum()));
+        System.out.println(String.format("Throughput: %.1f journeys/min", getThroughputPerMinute()));
+        if (rampUpFailed.sum() > 0) {
+            System.out.println("Ramp-up (not measured): " + rampUpFailed.sum() + " failed journey(s)");
+        }
+        System.out.println(journeys.summary());
+        steps.values().forEach(stats -> System.out.println("  " + stats.summary()));
+        failures.forEach((step, count) -> {
+            if (count.sum() > 0) {
+                System.out.println("  failures in " + step + ": " + count.sum());
+            }
+        });
+        System.out.println(permitWait.summary());
+    }
+}
@@ -0,0 +1,53 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+// Locator for one @FindBy field, caching the element per page generation
+class CachingElementLocator implements ElementLocator {
+    private final WebDriver driver;
+    private final By by;
+    private WebElement cachedElement;
+    private long cachedGeneration;
+
+    CachingElementLocator(WebDriver driver, By by) {
+        this.driver = driver;
+        this.by = by;
+    }
+
+    @Override
+    public WebElement findElement() {
+        long generation = CachingElementLocatorFactory.generationOf(driver);
+        if (cachedElement != null && cachedGeneration == generation) {
+            CachingElementLocatorFactory.hits.increment();
+            return cachedElement;
+        }
+        CachingElementLocatorFactory.misses.increment();
+        WebElement element = driver.findElement(by);
+        cachedElement = element;
+        cachedGeneration = generation;
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        return driver.findElements(by);
+    }
+
+    // Element went stale, find it again on next access
+    void invalidate() {
+        if (cachedElement != null) {
+            cachedElement = null;
+            CachingElementLocatorFactory.invalidations.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachingElementLocator '" + by + "'";
+    }
+}
@@ -0,0 +1,61 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// PageFactory locators that remember the element they found.
+// A cached element is valid for one "page generation" of its driver: every
+// navigation through BasePage.navigateTo starts a new generation, and a
+// StaleElementReferenceException (page changed by a click, re-render, ...)
+// drops the cached element and looks it up again. Lists are not cached,
+// they change too often (product grid, cart rows).
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+    private static final Map<WebDriver, AtomicLong> generations =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    static final LongAdder hits = new LongAdder();
+    static final LongAdder misses = new LongAdder();
+    static final LongAdder invalidations = new LongAdder();
+
+    private final WebDriver driver;
+
+    public CachingElementLocatorFactory(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return new CachingElementLocator(driver, new Annotations(field).buildBy());
+    }
+
+    // Forget every element cached for this driver (call after navigation)
+    public static void nextGeneration(WebDriver driver) {
+        generationCounter(driver).incrementAndGet();
+    }
+
+    static long generationOf(WebDriver driver) {
+        return generationCounter(driver).get();
+    }
+
+    private static AtomicLong generationCounter(WebDriver driver) {
+        return generations.computeIfAbsent(driver, d -> new AtomicLong());
+    }
+
+    public static void printStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        System.out.println("=== ELEMENT CACHE ===");
+        System.out.println("Lookups: " + total + ", hits: " + hitCount + ", misses: " + misses.sum()
+                + ", invalidations: " + invalidations.sum()
+                + String.format(" (hit rate %.0f%%)", total == 0 ? 0.0 : hitCount * 100.0 / total));
+    }
+}
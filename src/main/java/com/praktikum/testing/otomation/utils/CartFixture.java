@@ -0,0 +1,58 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// Fills the cart through the backend instead of clicking through product
+// pages. The page keeps an anonymous cart under the "user" cookie (a uuid),
+// so the fixture sets a fresh uuid on the browser and adds products for it.
+// Products are referenced by their catalogue id (prod.html?idp_=<id>).
+public class CartFixture {
+    public static final int SAMSUNG_GALAXY_S6 = 1;
+    public static final int NOKIA_LUMIA_1520 = 2;
+    public static final int NEXUS_6 = 3;
+
+    private static final String USER_COOKIE = "user";
+
+    private final DemoblazeApi api = new DemoblazeApi();
+    private final String cookie;
+
+    private CartFixture(String cookie) {
+        this.cookie = cookie;
+    }
+
+    // Empty anonymous cart bound to the driver (set before opening the site)
+    public static CartFixture anonymous(WebDriver driver) {
+        String id = UUID.randomUUID().toString();
+        SessionSeeder.setCookie(driver, USER_COOKIE, id);
+        return new CartFixture(id);
+    }
+
+    // Add products, all requests in flight together
+    public CartFixture add(int... productIds) {
+        List<CompletableFuture<Object>> requests = new ArrayList<>();
+        for (int productId : productIds) {
+            requests.add(api.addToCartAsync(cookie, productId, false));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0])).join();
+        System.out.println("Cart seeded with " + productIds.length + " product(s)");
+        return this;
+    }
+
+    // Empty the cart (best effort, used after the test)
+    public void clear() {
+        try {
+            api.deleteCart(cookie);
+        } catch (RuntimeException e) {
+            System.out.println("Cannot clear cart: " + e.getMessage());
+        }
+    }
+
+    public String getCookie() {
+        return cookie;
+    }
+}
@@ -0,0 +1,144 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Client for the Demoblaze backend, doing the same calls as the web page.
+// Used to prepare state (users, sessions, cart) without driving the UI.
+// The HttpClient is shared and thread-safe.
+// The backend URL comes from SiteConfig (-Ddemoblaze.api.url).
+public class DemoblazeApi {
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    private static final Json json = new Json();
+
+    private final String baseUrl;
+
+    public DemoblazeApi() {
+        this(SiteConfig.apiUrl());
+    }
+
+    public DemoblazeApi(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // Register a user; false if the username is already taken
+    public boolean signup(String username, String password) {
+        return join(signupAsync(username, password));
+    }
+
+    public CompletableFuture<Boolean> signupAsync(String username, String password) {
+        return postAsync("/signup", Map.of("username", username, "password", encodePassword(password)))
+                .thenApply(result -> {
+                    String error = errorOf(result);
+                    if (error == null) {
+                        return true;
+                    }
+                    if (error.contains("already exist")) {
+                        return false;
+                    }
+                    throw new IllegalStateException("Signup of " + username + " failed: " + error);
+                });
+    }
+
+    // Log in and return the auth token (the page stores it in the tokenp_ cookie)
+    public String login(String username, String password) {
+        Object result = post("/login", Map.of("username", username, "password", encodePassword(password)));
+        String error = errorOf(result);
+        if (error != null) {
+            throw new IllegalStateException("Login of " + username + " failed: " + error);
+        }
+        String response = String.valueOf(result);
+        String prefix = "Auth_token: ";
+        if (!response.startsWith(prefix)) {
+            throw new IllegalStateException("Unexpected login response: " + response);
+        }
+        return response.substring(prefix.length()).trim();
+    }
+
+    // Add a product to the cart identified by cookie (user cookie, or auth token when logged in)
+    public CompletableFuture<Object> addToCartAsync(String cookie, int productId, boolean loggedIn) {
+        return postAsync("/addtocart", Map.of(
+                "id", UUID.randomUUID().toString(),
+                "cookie", cookie,
+                "prod_id", productId,
+                "flag", loggedIn));
+    }
+
+    public void addToCart(String cookie, int productId, boolean loggedIn) {
+        join(addToCartAsync(cookie, productId, loggedIn));
+    }
+
+    // Remove everything from the cart
+    public void deleteCart(String cookie) {
+        post("/deletecart", Map.of("cookie", cookie));
+    }
+
+    // POST a JSON body and return the parsed JSON response
+    public Object post(String path, Map<String, ?> body) {
+        return join(postAsync(path, body));
+    }
+
+    public CompletableFuture<Object> postAsync(String path, Map<String, ?> body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(body), StandardCharsets.UTF_8))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException(path + " returned HTTP " + response.statusCode());
+                    }
+                    String text = response.body();
+                    return text == null || text.isBlank() ? "" : json.toType(text, Object.class);
+                });
+    }
+
+    // The page sends btoa(password)
+    static String encodePassword(String password) {
+        return Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String errorOf(Object result) {
+        if (result instanceof Map) {
+            Object error = ((Map<?, ?>) result).get("errorMessage");
+            return error == null ? null : String.valueOf(error);
+        }
+        return null;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw new IllegalStateException("Demoblaze API not reachable: " + cause.getMessage(), cause);
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.UnexpectedAlertBehaviour;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pool of browser sessions shared by all test threads.
+// Each thread leases one driver (kept in a ThreadLocal) and gives it back
+// after the test, so the next test reuses the warm browser instead of
+// starting a new one. Browsers are started ahead of demand on a background
+// executor so that at least minIdle sessions are ready.
+//   -Ddriver.pool.size     max browsers alive (default 4)
+//   -Ddriver.pool.minIdle  ready sessions to keep warm (default 1)
+//   -Ddriver.pool.maxIdle  ready sessions kept after release (default pool size)
+//   -Ddriver.pool.warmers  background spin-up threads (default 2)
+public class DriverPool {
+    private static final int MAX_SIZE = Integer.getInteger("driver.pool.size", 4);
+    private static final int MIN_IDLE = Math.min(MAX_SIZE, Integer.getInteger("driver.pool.minIdle", 1));
+    private static final int MAX_IDLE = Math.max(MIN_IDLE, Integer.getInteger("driver.pool.maxIdle", MAX_SIZE));
+    private static final int WARMERS = Math.max(1, Integer.getInteger("driver.pool.warmers", 2));
+
+    private static final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private static final Set<WebDriver> allDrivers = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger liveCount = new AtomicInteger();
+    private static final AtomicInteger warmingCount = new AtomicInteger();
+    private static final ThreadLocal<WebDriver> current = new ThreadLocal<>();
+
+    private static final AtomicInteger warmerCount = new AtomicInteger();
+    private static final ExecutorService warmer = Executors.newFixedThreadPool(WARMERS, runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-warmer-" + warmerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Statistics for sizing the pool
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LatencyStats spinUpLatency = new LatencyStats("spin-up");
+    private static final LatencyStats leaseWait = new LatencyStats("lease wait");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown));
+    }
+
+    // Lease a driver for the current thread (same driver if already leased)
+    public static WebDriver lease() {
+        WebDriver driver = current.get();
+        if (driver != null) {
+            return driver;
+        }
+
+        long start = System.nanoTime();
+        driver = idle.poll();
+        if (driver != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            driver = createOrWait();
+        }
+        leaseWait.recordNanos(System.nanoTime() - start);
+
+        current.set(driver);
+        replenish();
+        return driver;
+    }
+
+    // Start browsers in the background until minIdle sessions are ready
+    public static void warmUp() {
+        replenish();
+    }
+
+    // Driver leased by the current thread, or null
+    public static WebDriver current() {
+        return current.get();
+    }
+
+    // Reset the session and give it back to the pool
+    public static void release() {
+        WebDriver driver = current.get();
+        if (driver == null) {
+            return;
+        }
+        current.remove();
+
+        if (resetSession(driver) && idle.size() < MAX_IDLE) {
+            idle.offer(driver);
+        } else {
+            discard(driver);
+            replenish();
+        }
+    }
+
+    // Quit the leased driver instead of reusing it (e.g. browser crashed)
+    public static void invalidate() {
+        WebDriver driver = current.get();
+        if (driver != null) {
+            current.remove();
+            discard(driver);
+            replenish();
+        }
+    }
+
+    // Quit all browsers, called at the end of the suite
+    public static void shutdown() {
+        warmer.shutdownNow();
+        for (WebDriver driver : allDrivers) {
+            quitQuietly(driver);
+        }
+        allDrivers.clear();
+        idle.clear();
+        liveCount.set(0);
+    }
+
+    public static int getMaxSize() {
+        return MAX_SIZE;
+    }
+
+    // Print hit/miss ratio and spin-up latency
+    public static void printStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        System.out.println("=== DRIVER POOL ===");
+        System.out.println("Size: " + MAX_SIZE + " (minIdle=" + MIN_IDLE + ", maxIdle=" + MAX_IDLE + ")");
+        System.out.println("Leases: " + total + ", hits: " + hitCount + ", misses: " + misses.sum()
+                + String.format(" (hit rate %.0f%%)", total == 0 ? 0.0 : hitCount * 100.0 / total));
+        System.out.println(spinUpLatency.summary());
+        System.out.println(leaseWait.summary());
+    }
+
+    private static void replenish() {
+        while (idle.size() + warmingCount.get() < MIN_IDLE) {
+            int live = liveCount.get();
+            if (live >= MAX_SIZE) {
+                return;
+            }
+            if (!liveCount.compareAndSet(live, live + 1)) {
+                continue;
+            }
+
+            warmingCount.incrementAndGet();
+            try {
+                warmer.execute(() -> {
+                    try {
+                        idle.offer(createDriver());
+                    } catch (Exception e) {
+                        liveCount.decrementAndGet();
+                        System.out.println("Background browser start failed: " + e.getMessage());
+                    } finally {
+                        warmingCount.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Executor already shut down
+                warmingCount.decrementAndGet();
+                liveCount.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static WebDriver createOrWait() {
+        while (true) {
+            int live = liveCount.get();
+            if (live < MAX_SIZE && warmingCount.get() == 0) {
+                if (liveCount.compareAndSet(live, live + 1)) {
+                    try {
+                        return createDriver();
+                    } catch (RuntimeException e) {
+                        liveCount.decrementAndGet();
+                        throw e;
+                    }
+                }
+                continue;
+            }
+
+            // Pool is full or a browser is already starting in the background:
+            // wait for it, re-checking the count in case one was discarded meanwhile
+            try {
+                WebDriver driver = idle.poll(200, TimeUnit.MILLISECONDS);
+                if (driver != null) {
+                    return driver;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser", e);
+            }
+        }
+    }
+
+    static WebDriver createDriver() {
+        long start = System.nanoTime();
+        DriverResolver.setupChrome();
+        ChromeOptions options = new ChromeOptions();
+        if (ScreenshotRing.isEnabled()) {
+            // Ring frames are taken at any time: a command hitting an open alert must fail
+            // (UnhandledAlertException) and leave the alert there, not dismiss it
+            options.setUnhandledPromptBehaviour(UnexpectedAlertBehaviour.IGNORE);
+        }
+        WebDriver driver = new ChromeDriver(options);
+        try {
+            driver.manage().window().maximize();
+            NetworkMonitor.install(driver);
+        } catch (RuntimeException e) {
+            // Do not leave the browser running; the caller gives the slot back
+            quitQuietly(driver);
+            throw e;
+        }
+        allDrivers.add(driver);
+        spinUpLatency.recordNanos(System.nanoTime() - start);
+        System.out.println("Browser started (" + liveCount.get() + "/" + MAX_SIZE + ") on "
+                + Thread.currentThread().getName());
+        return driver;
+    }
+
+    // Clear alerts, extra windows, cookies and storage so the next test starts clean
+    static boolean resetSession(WebDriver driver) {
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                // No alert open
+            }
+
+            Set<String> handles = driver.getWindowHandles();
+            String mainHandle = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(mainHandle)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(mainHandle);
+
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies only covers the current domain; also drop cookies
+                // set for other sites (e.g. a seeded session, see SessionSeeder)
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (Exception e) {
+                // Storage not available on this page (e.g. about:blank)
+            }
+
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.out.println("Cannot reset browser session, discarding it: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void discard(WebDriver driver) {
+        allDrivers.remove(driver);
+        liveCount.decrementAndGet();
+        quitQuietly(driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // Browser already gone
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.praktikum.testing.otomation.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Resolves the chromedriver binary once per JVM.
+// The result is stored in an on-disk cache keyed by the installed Chrome
+// version, so other test methods, other forked surefire JVMs and later runs
+// reuse it without asking WebDriverManager (and without network access).
+// The cache file is locked while resolving, so parallel JVMs resolve only once.
+//   -Ddriver.resolution.cache  cache file (default ~/.cache/selenium/chromedriver-resolution.properties)
+public class DriverResolver {
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.\\d+\\.\\d+\\.\\d+");
+
+    private static final Path CACHE_FILE = Paths.get(System.getProperty("driver.resolution.cache",
+            System.getProperty("user.home") + "/.cache/selenium/chromedriver-resolution.properties"));
+
+    private static volatile boolean resolved = false;
+
+    // Make sure webdriver.chrome.driver points to a matching chromedriver
+    public static void setupChrome() {
+        if (resolved) {
+            return;
+        }
+        synchronized (DriverResolver.class) {
+            if (!resolved) {
+                resolve();
+                resolved = true;
+            }
+        }
+    }
+
+    // The file lock is only held for the block, it is never read
+    @SuppressWarnings("try")
+    private static void resolve() {
+        String preset = System.getProperty(CHROME_DRIVER_PROPERTY);
+        if (preset != null && Files.isExecutable(Paths.get(preset))) {
+            System.out.println("Using chromedriver from " + CHROME_DRIVER_PROPERTY + ": " + preset);
+            return;
+        }
+
+        Optional<String> browserVersion = detectChromeVersion();
+        String key = "chrome." + browserVersion.orElse("unknown");
+
+        try {
+            Files.createDirectories(CACHE_FILE.getParent());
+            Path lockFile = CACHE_FILE.resolveSibling(CACHE_FILE.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+
+                Properties cache = loadCache();
+                String cachedPath = cache.getProperty(key);
+                if (cachedPath != null && Files.isExecutable(Paths.get(cachedPath))) {
+                    System.setProperty(CHROME_DRIVER_PROPERTY, cachedPath);
+                    System.out.println("Using cached chromedriver for " + key + ": " + cachedPath);
+                    return;
+                }
+
+                String driverPath;
+                try {
+                    driverPath = resolveWithWebDriverManager(browserVersion);
+                } catch (RuntimeException e) {
+                    // Offline and nothing cached: leave it to Selenium Manager / PATH
+                    System.out.println("Cannot resolve chromedriver for " + key + ": " + e.getMessage());
+                    return;
+                }
+                System.setProperty(CHROME_DRIVER_PROPERTY, driverPath);
+                cache.setProperty(key, driverPath);
+                storeCache(cache);
+                System.out.println("Resolved chromedriver for " + key + ": " + driverPath);
+            }
+        } catch (IOException e) {
+            System.out.println("Driver resolution cache not available: " + e.getMessage());
+            try {
+                WebDriverManager.chromedriver().setup();
+            } catch (RuntimeException ex) {
+                System.out.println("Cannot resolve chromedriver: " + ex.getMessage());
+            }
+        }
+    }
+
+    private static String resolveWithWebDriverManager(Optional<String> browserVersion) {
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        browserVersion.ifPresent(version -> manager.browserVersion(majorOf(version)).avoidBrowserDetection());
+        manager.setup();
+        return manager.getDownloadedDriverPath();
+    }
+
+    // Ask the Chrome binary for its version (e.g. "Google Chrome 124.0.6367.91")
+    private static Optional<String> detectChromeVersion() {
+        try {
+            Optional<Path> browserPath = WebDriverManager.chromedriver().getBrowserPath();
+            if (browserPath.isEmpty()) {
+                return Optional.empty();
+            }
+
+            Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                    .redirectErrorStream(true)
+                    .start();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return Optional.empty();
+            }
+
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group()) : Optional.empty();
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String majorOf(String version) {
+        return version.substring(0, version.indexOf('.'));
+    }
+
+    private static Properties loadCache() throws IOException {
+        Properties cache = new Properties();
+        if (Files.exists(CACHE_FILE)) {
+            try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+                cache.load(in);
+            }
+        }
+        return cache;
+    }
+
+    private static void storeCache(Properties cache) throws IOException {
+        // Write to a temp file first so a crash never leaves a half-written cache
+        Path tmp = CACHE_FILE.resolveSibling(CACHE_FILE.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            cache.store(out, "chromedriver resolution cache");
+        }
+        Files.move(tmp, CACHE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
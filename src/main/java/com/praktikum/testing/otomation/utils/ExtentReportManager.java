@@ -1,12 +1,28 @@
 package com.praktikum.testing.otomation.utils;
 
 import com.aventstack.extentreports.*;
+import com.aventstack.extentreports.model.Log;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Report manager that is safe with parallel tests.
+// Every thread logs into its own TestLog (see getTest). Finished tests are
+// streamed to disk (ReportStream) instead of being kept in ExtentReports, and
+// the HTML report is rendered from that stream by flush().
 public class ExtentReportManager {
-    private static ExtentReports extent;
-    private static ExtentTest test;
+    private static final Object reportLock = new Object();
+    private static final ThreadLocal<TestLog> currentTest = new ThreadLocal<>();
+    private static final AtomicBoolean flushed = new AtomicBoolean(false);
+    private static volatile ExtentReports extent;
+    private static volatile Path reportDir = Paths.get("test-output").toAbsolutePath();
 
     public static ExtentReports createInstance(String fileName) {
         ExtentSparkReporter sparkReporter = new ExtentSparkReporter(fileName);
@@ -15,32 +31,118 @@ public class ExtentReportManager {
         sparkReporter.config().setReportName("Demoblaze Test Results");
         sparkReporter.config().setTimeStampFormat("dd-MM-yyyy HH:mm:ss");
 
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
-        extent.setSystemInfo("OS", System.getProperty("os.name"));
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        extent.setSystemInfo("Selenium Version", "4.15.0");
-        extent.setSystemInfo("Application", "Demoblaze.com");
-        extent.setSystemInfo("Tested By", "QA Tester");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(sparkReporter);
+        reports.setSystemInfo("OS", System.getProperty("os.name"));
+        reports.setSystemInfo("Java Version", System.getProperty("java.version"));
+        reports.setSystemInfo("Selenium Version", "4.15.0");
+        reports.setSystemInfo("Application", "Demoblaze.com");
+        reports.setSystemInfo("Tested By", "QA Tester");
 
-        return extent;
+        synchronized (reportLock) {
+            reportDir = Paths.get(fileName).toAbsolutePath().getParent();
+            extent = reports;
+            flushed.set(false);
+        }
+        return reports;
     }
 
     public static ExtentReports getInstance() {
-        if (extent == null) {
-            createInstance("test-output/ExtentReport.html");
+        ExtentReports reports = extent;
+        if (reports == null) {
+            synchronized (reportLock) {
+                if (extent == null) {
+                    createInstance("test-output/ExtentReport.html");
+                }
+                reports = extent;
+            }
         }
-        return extent;
+        return reports;
     }
 
-    public static ExtentTest createTest(String testName) {
-        test = getInstance().createTest(testName);
+    // Start a test on the current thread
+    public static TestLog createTest(String testName) {
+        TestLog test = new TestLog(testName);
+        currentTest.set(test);
         return test;
     }
 
-    public static ExtentTest getTest() {
-        return test;
+    // Test of the current thread (null outside a test)
+    public static TestLog getTest() {
+        return currentTest.get();
+    }
+
+    // Attach a screenshot file to the current thread's test
+    public static void attachScreenshot(String screenshotPath) {
+        attachScreenshot(screenshotPath, "Screenshot");
+    }
+
+    public static void attachScreenshot(String screenshotPath, String title) {
+        TestLog test = currentTest.get();
+        if (test != null && screenshotPath != null) {
+            // The HTML report links files relative to its own folder
+            String link = reportDir.relativize(Paths.get(screenshotPath).toAbsolutePath()).toString();
+            test.addScreenshot(Status.INFO, title, link);
+        }
+    }
+
+    // Finish the current thread's test and append it to the report stream
+    public static void endTest() {
+        TestLog test = currentTest.get();
+        currentTest.remove();
+        if (test != null) {
+            test.finish(System.currentTimeMillis());
+            ReportStream.append(test);
+        }
+    }
+
+    // Render the report once from the stream; later calls do nothing and return false
+    public static boolean flush() {
+        if (!flushed.compareAndSet(false, true)) {
+            return false;
+        }
+        ReportStream.close();
+        try {
+            render(ReportStream.getFile());
+        } catch (IOException e) {
+            System.out.println("Cannot read report stream: " + e.getMessage());
+        }
+        synchronized (reportLock) {
+            getInstance().flush();
+        }
+        return true;
     }
 
+    // Add all tests of a report stream file, returns the number of tests
+    public static long render(Path streamFile) throws IOException {
+        if (!Files.exists(streamFile)) {
+            return 0;
+        }
+        long[] count = {0};
+        ReportStream.read(streamFile, test -> {
+            publish(test);
+            count[0]++;
+        });
+        return count[0];
+    }
 
-}
\ No newline at end of file
+    private static void publish(TestLog test) {
+        ExtentReports reports = getInstance();
+        synchronized (reportLock) {
+            ExtentTest node = reports.createTest(test.getName());
+            node.getModel().setStartTime(new Date(test.getStartTime()));
+            List<Log> logs = node.getModel().getLogs();
+            for (TestLog.Entry entry : test.getEntries()) {
+                if (entry.screenshotPath() != null) {
+                    node.log(entry.status(), entry.message(),
+                            MediaEntityBuilder.createScreenCaptureFromPath(entry.screenshotPath()).build());
+                } else {
+                    node.log(entry.status(), entry.message());
+                }
+                // Keep the time the entry was logged, not the time it was published
+                logs.get(logs.size() - 1).setTimestamp(new Date(entry.timestamp()));
+            }
+            node.getModel().setEndTime(new Date(test.getEndTime()));
+        }
+    }
+}
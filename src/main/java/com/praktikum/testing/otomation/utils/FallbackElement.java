@@ -0,0 +1,175 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Element with several candidate locators (primary first, then fallbacks).
+// All candidates are tried in one executeScript call that returns the first
+// visible match, instead of waiting for each locator to time out in turn.
+// The candidate that matched is remembered for the rest of the run (per
+// element name, which must always come with the same locators) and tried
+// first next time; per-candidate win counts show which primary locators are
+// broken.
+public class FallbackElement {
+
+    // Arguments: list of [using, value] pairs in priority order.
+    // Returns {index, element} of the first candidate with a visible match, or null.
+    private static final String FIND_SCRIPT = String.join("\n",
+            "function visible(el) {",
+            "  if (!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) { return false; }",
+            "  var style = window.getComputedStyle(el);",
+            "  return style.visibility !== 'hidden' && style.display !== 'none';",
+            "}",
+            "function links(value, partial) {",
+            "  return Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {",
+            "    var text = a.innerText.trim();",
+            "    return partial ? text.indexOf(value) >= 0 : text === value;",
+            "  });",
+            "}",
+            "function query(using, value) {",
+            "  switch (using) {",
+            "    case 'id': return document.querySelectorAll('[id=\"' + CSS.escape(value) + '\"]');",
+            "    case 'name': return document.querySelectorAll('[name=\"' + CSS.escape(value) + '\"]');",
+            "    case 'class name': return document.getElementsByClassName(value);",
+            "    case 'tag name': return document.getElementsByTagName(value);",
+            "    case 'css selector': return document.querySelectorAll(value);",
+            "    case 'link text': return links(value, false);",
+            "    case 'partial link text': return links(value, true);",
+            "    case 'xpath':",
+            "      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);",
+            "      var nodes = [];",
+            "      for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }",
+            "      return nodes;",
+            "  }",
+            "  return [];",
+            "}",
+            "var candidates = arguments[0];",
+            "for (var c = 0; c < candidates.length; c++) {",
+            "  var found;",
+            "  try { found = query(candidates[c][0], candidates[c][1]); } catch (e) { continue; }",
+            "  for (var j = 0; j < found.length; j++) {",
+            "    if (found[j].nodeType === 1 && visible(found[j])) { return {index: c, element: found[j]}; }",
+            "  }",
+            "}",
+            "return null;");
+
+    private static final Map<String, Integer> preferred = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLongArray> wins = new ConcurrentHashMap<>();
+    private static final Map<String, List<By>> locatorsByName = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final String name;
+    private final List<By> locators;
+    private final AdaptiveWait wait;
+
+    public FallbackElement(WebDriver driver, String name, By... locators) {
+        this(driver, name, Duration.ofSeconds(15), locators);
+    }
+
+    public FallbackElement(WebDriver driver, String name, Duration timeout, By... locators) {
+        if (locators.length == 0) {
+            throw new IllegalArgumentException("At least one locator is needed for " + name);
+        }
+        this.driver = driver;
+        this.name = name;
+        this.locators = List.of(locators);
+        this.wait = new AdaptiveWait(driver, timeout);
+        // Win counts and the remembered candidate are per name, so a name means one locator list
+        List<By> registered = locatorsByName.putIfAbsent(name, this.locators);
+        if (registered != null && !registered.equals(this.locators)) {
+            throw new IllegalArgumentException("Fallback element " + name + " is already registered with "
+                    + registered + ", not " + this.locators);
+        }
+        wins.putIfAbsent(name, new AtomicLongArray(locators.length));
+    }
+
+    // Wait until one of the candidates is visible and return it
+    public WebElement find() {
+        return wait.until("fallback element " + name, d -> findNow());
+    }
+
+    // Single lookup without waiting, null if no candidate is visible
+    public WebElement findNow() {
+        List<Integer> order = candidateOrder();
+        List<List<Object>> candidates = new ArrayList<>();
+        for (int index : order) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locators.get(index)).getRemoteParameters();
+            candidates.add(List.of(parameters.using(), parameters.value()));
+        }
+
+        Object result = ((JavascriptExecutor) driver).executeScript(FIND_SCRIPT, candidates);
+        if (!(result instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> match = (Map<?, ?>) result;
+        int winner = order.get(((Number) match.get("index")).intValue());
+        remember(winner);
+        return (WebElement) match.get("element");
+    }
+
+    public void click() {
+        find().click();
+    }
+
+    public boolean isDisplayed() {
+        return findNow() != null;
+    }
+
+    // Locator that matched last time, e.g. to log which one was used
+    public By getMatchedLocator() {
+        return locators.get(preferred.getOrDefault(name, 0));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Win counts per candidate, e.g. "cart link: 4 lookups, 4 fallback(s)"
+    public static void printStats() {
+        if (wins.isEmpty()) {
+            return;
+        }
+        System.out.println("=== FALLBACK LOCATORS ===");
+        wins.forEach((name, counts) -> {
+            List<By> candidates = locatorsByName.get(name);
+            long total = 0;
+            StringBuilder details = new StringBuilder();
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+                details.append(String.format("%n  #%d %s: %d", i, candidates.get(i), counts.get(i)));
+            }
+            long fallbackCount = total - counts.get(0);
+            System.out.println(name + ": " + total + " lookups, " + fallbackCount + " fallback(s)" + details);
+        });
+    }
+
+    // Remembered candidate first, the others in declaration order
+    private List<Integer> candidateOrder() {
+        int first = preferred.getOrDefault(name, 0);
+        List<Integer> order = new ArrayList<>();
+        order.add(first);
+        for (int i = 0; i < locators.size(); i++) {
+            if (i != first) {
+                order.add(i);
+            }
+        }
+        return order;
+    }
+
+    private void remember(int index) {
+        wins.get(name).incrementAndGet(index);
+        Integer previous = preferred.put(name, index);
+        if (index != 0 && (previous == null || previous != index)) {
+            System.out.println("Fallback locator for " + name + ": " + locators.get(index));
+        }
+    }
+}
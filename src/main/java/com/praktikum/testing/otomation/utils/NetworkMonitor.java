@@ -0,0 +1,79 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+// Tracks in-flight XHR/fetch requests of the page.
+// A small interceptor counts requests in window.__netMonitor. On Chrome it is
+// registered through DevTools (Page.addScriptToEvaluateOnNewDocument), so it
+// runs before the page scripts of every document and sees the first AJAX
+// calls too. On other drivers it is injected on demand.
+public class NetworkMonitor {
+
+    static final String INTERCEPTOR_SCRIPT = String.join("\n",
+            "(function () {",
+            "  if (window.__netMonitor) { return; }",
+            "  var monitor = window.__netMonitor = {pending: 0, lastActivity: Date.now()};",
+            "  function start() { monitor.pending++; monitor.lastActivity = Date.now(); }",
+            "  function end() { monitor.pending = Math.max(0, monitor.pending - 1); monitor.lastActivity = Date.now(); }",
+            "  var send = XMLHttpRequest.prototype.send;",
+            "  XMLHttpRequest.prototype.send = function () {",
+            "    start();",
+            "    this.addEventListener('loadend', end);",
+            "    try { return send.apply(this, arguments); } catch (e) { end(); throw e; }",
+            "  };",
+            "  if (window.fetch) {",
+            "    var originalFetch = window.fetch;",
+            "    window.fetch = function () {",
+            "      start();",
+            "      try {",
+            "        return originalFetch.apply(this, arguments).then(",
+            "            function (response) { end(); return response; },",
+            "            function (error) { end(); throw error; });",
+            "      } catch (e) { end(); throw e; }",
+            "    };",
+            "  }",
+            "})();");
+
+    // Resolves true once no request has been running for the quiet window.
+    // Arguments: quiet window in ms, timeout in ms, async callback.
+    static final String IDLE_WAIT_SCRIPT = String.join("\n",
+            "var quiet = arguments[0], timeout = arguments[1];",
+            "var done = arguments[arguments.length - 1];",
+            "var monitor = window.__netMonitor;",
+            "if (!monitor) { done('no-monitor'); return; }",
+            "var deadline = Date.now() + timeout;",
+            "(function check() {",
+            "  var now = Date.now(), idleFor = now - monitor.lastActivity;",
+            "  var jqueryActive = window.jQuery ? window.jQuery.active : 0;",
+            "  if (document.readyState === 'complete' && monitor.pending === 0",
+            "      && jqueryActive === 0 && idleFor >= quiet) { done(true); return; }",
+            "  if (now >= deadline) { done(false); return; }",
+            "  setTimeout(check, monitor.pending > 0 ? 25 : Math.max(10, quiet - idleFor));",
+            "})();");
+
+    // Register the interceptor for every document the browser loads (Chrome only),
+    // plus the traffic recorder when recording is on
+    public static void install(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Map.of("source", INTERCEPTOR_SCRIPT));
+                if (TrafficRecorder.isEnabled()) {
+                    ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                            Map.of("source", TrafficRecorder.RECORDER_SCRIPT));
+                }
+            } catch (Exception e) {
+                System.out.println("Cannot register network monitor: " + e.getMessage());
+            }
+        }
+    }
+
+    // Inject into the current document (misses requests that already started)
+    static void injectIntoPage(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(INTERCEPTOR_SCRIPT);
+    }
+}
@@ -0,0 +1,155 @@
+package com.praktikum.testing.otomation.utils;
+
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Line-delimited JSON file with one finished test per line.
+// Tests are appended (and flushed) as soon as they end, so nothing piles up
+// on the heap during the run and a crashed JVM still leaves every finished
+// test on disk. The HTML report is rendered from this file at the end; after
+// a crash it can be rendered by hand:
+//   java -cp <test classpath> com.praktikum.testing.otomation.utils.ReportStream [results.ndjson] [report.html]
+//   -Dreport.stream.file  stream file (default test-output/results.ndjson)
+public class ReportStream {
+    private static final Path STREAM_FILE = Paths.get(
+            System.getProperty("report.stream.file", "test-output/results.ndjson"));
+
+    private static final Json json = new Json();
+    private static BufferedWriter writer;
+    private static long written;
+
+    // Append a finished test to the stream
+    public static synchronized void append(TestLog test) {
+        try {
+            if (writer == null) {
+                open();
+            }
+            writer.write(toJsonLine(test));
+            writer.newLine();
+            writer.flush();
+            written++;
+        } catch (IOException e) {
+            System.out.println("Cannot write test result to " + STREAM_FILE + ": " + e.getMessage());
+        }
+    }
+
+    // Stop writing; the next append starts a new stream
+    public static synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+            writer = null;
+        }
+    }
+
+    public static synchronized long getWrittenCount() {
+        return written;
+    }
+
+    public static Path getFile() {
+        return STREAM_FILE;
+    }
+
+    // Read a stream back one test at a time (a truncated last line is skipped)
+    public static void read(Path file, Consumer<TestLog> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                TestLog test;
+                try {
+                    test = fromJsonLine(line);
+                } catch (RuntimeException e) {
+                    System.out.println("Skipping unreadable report line: " + e.getMessage());
+                    continue;
+                }
+                consumer.accept(test);
+            }
+        }
+    }
+
+    // Re-render the HTML report from a stream left by an earlier run
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : STREAM_FILE;
+        String html = args.length > 1 ? args[1] : "test-output/ExtentReport.html";
+        ExtentReportManager.createInstance(html);
+        long count = ExtentReportManager.render(file);
+        ExtentReportManager.getInstance().flush();
+        System.out.println("Rendered " + count + " test(s) from " + file + " to " + html);
+    }
+
+    private static void open() throws IOException {
+        if (STREAM_FILE.getParent() != null) {
+            Files.createDirectories(STREAM_FILE.getParent());
+        }
+        // A new run starts a new stream
+        writer = Files.newBufferedWriter(STREAM_FILE, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static String toJsonLine(TestLog test) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (TestLog.Entry entry : test.getEntries()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("time", entry.timestamp());
+            item.put("status", entry.status().name());
+            item.put("message", entry.message());
+            if (entry.screenshotPath() != null) {
+                item.put("screenshot", entry.screenshotPath());
+            }
+            entries.add(item);
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("name", test.getName());
+        line.put("start", test.getStartTime());
+        line.put("end", test.getEndTime());
+        line.put("entries", entries);
+
+        StringBuilder sb = new StringBuilder();
+        try (JsonOutput out = json.newOutput(sb)) {
+            out.setPrettyPrint(false).write(line);
+        } catch (UncheckedIOException e) {
+            throw new IllegalStateException("Cannot serialize test " + test.getName(), e);
+        }
+        return sb.toString();
+    }
+
+    private static TestLog fromJsonLine(String line) {
+        Map<String, Object> map = json.toType(line, Json.MAP_TYPE);
+        TestLog test = new TestLog((String) map.get("name"), ((Number) map.get("start")).longValue());
+        List<?> entries = (List<?>) map.get("entries");
+        if (entries != null) {
+            for (Object item : entries) {
+                Map<?, ?> entry = (Map<?, ?>) item;
+                test.add(new TestLog.Entry(((Number) entry.get("time")).longValue(),
+                        Status.valueOf((String) entry.get("status")),
+                        (String) entry.get("message"),
+                        (String) entry.get("screenshot")));
+            }
+        }
+        test.finish(((Number) map.get("end")).longValue());
+        return test;
+    }
+}
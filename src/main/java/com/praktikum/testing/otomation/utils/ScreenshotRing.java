@@ -0,0 +1,179 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnhandledAlertException;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Opt-in flight recorder for page-object actions.
+// Before each click / enterText / navigateTo a downscaled JPEG frame is
+// stored in a fixed-size off-heap ring (one per test thread, reused across
+// tests), so only the last N steps are kept. Frames are written to disk only
+// when the test fails; passing tests just reset the ring.
+// Only the browser screenshot is taken on the test thread; decoding,
+// downscaling and JPEG encoding run on the screenshot writer threads and the
+// frame fills its ring slot when done (dump waits for the frames it writes).
+// With the ring on, the pool's browsers leave open alerts alone (see
+// DriverPool), so a frame taken while an alert is open fails with
+// UnhandledAlertException and is skipped instead of dismissing the alert.
+//   -Dscreenshot.ring.size     frames to keep, 0 = off (default 0)
+//   -Dscreenshot.ring.scale    downscale factor (default 0.5)
+//   -Dscreenshot.ring.frameKb  max size of one frame (default 128)
+public class ScreenshotRing {
+    private static final int SIZE = Math.max(0, Integer.getInteger("screenshot.ring.size", 0));
+    private static final double SCALE = Double.parseDouble(System.getProperty("screenshot.ring.scale", "0.5"));
+    private static final int FRAME_BYTES = Integer.getInteger("screenshot.ring.frameKb", 128) * 1024;
+    private static final float JPEG_QUALITY = 0.6f;
+    private static final long ENCODE_WAIT_SECONDS = 10;
+
+    private static final ThreadLocal<ScreenshotRing> rings = ThreadLocal.withInitial(ScreenshotRing::new);
+
+    // Slots are written by the encoder threads, read and reset by the test thread
+    private final ByteBuffer frames = ByteBuffer.allocateDirect(SIZE * FRAME_BYTES);
+    private final int[] lengths = new int[SIZE];
+    private final String[] labels = new String[SIZE];
+    private final long[] times = new long[SIZE];
+    // Frame number a slot belongs to, so a late encode never overwrites a newer frame
+    private final long[] sequence = new long[SIZE];
+    private final CompletableFuture<?>[] encoding = new CompletableFuture<?>[SIZE];
+    private long captured;
+    // Frames before this number belong to an earlier test
+    private long start;
+
+    public static boolean isEnabled() {
+        return SIZE > 0;
+    }
+
+    // Record a frame for the current thread's test
+    public static void capture(WebDriver driver, String label) {
+        if (!isEnabled() || driver == null) {
+            return;
+        }
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (UnhandledAlertException e) {
+            // Alert open, it stays open for the test
+            return;
+        } catch (Exception e) {
+            // Forensics must never break the test
+            System.out.println("Ring frame skipped: " + e.getMessage());
+            return;
+        }
+
+        ScreenshotRing ring = rings.get();
+        long frame = ring.reserve(label);
+        CompletableFuture<byte[]> jpeg = ScreenshotUtil.encodeInBackground(() -> ScreenshotImages.encodeJpeg(
+                ScreenshotImages.scale(ScreenshotImages.decode(png), SCALE), JPEG_QUALITY));
+        ring.track(frame, jpeg.thenAccept(bytes -> ring.fill(frame, bytes)));
+    }
+
+    // Forget the frames of the current thread (test passed or a new test starts)
+    public static void reset() {
+        if (isEnabled()) {
+            ScreenshotRing ring = rings.get();
+            synchronized (ring) {
+                ring.start = ring.captured;
+            }
+        }
+    }
+
+    // Write the kept frames of the current thread, oldest first
+    public static List<Frame> dump(String testName) {
+        List<Frame> written = new ArrayList<>();
+        if (!isEnabled()) {
+            return written;
+        }
+        ScreenshotRing ring = rings.get();
+        String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        long first;
+        long last;
+        synchronized (ring) {
+            first = Math.max(ring.start, ring.captured - SIZE);
+            last = ring.captured;
+        }
+        for (long n = first; n < last; n++) {
+            ring.awaitEncoded(n);
+            int slot = (int) (n % SIZE);
+            byte[] jpeg;
+            String label;
+            long time;
+            synchronized (ring) {
+                if (ring.sequence[slot] != n || ring.lengths[slot] == 0) {
+                    continue;
+                }
+                jpeg = new byte[ring.lengths[slot]];
+                ring.frames.get(slot * FRAME_BYTES, jpeg);
+                label = ring.labels[slot];
+                time = ring.times[slot];
+            }
+
+            Path file = Paths.get("screenshots",
+                    String.format("%s_step%02d_%s.jpg", testName, n - first + 1, timeStamp));
+            ScreenshotUtil.write(jpeg, "jpg", file);
+            written.add(new Frame(label, time, file));
+        }
+        reset();
+        return written;
+    }
+
+    public record Frame(String label, long timestamp, Path file) {
+    }
+
+    // Take the next slot for a frame; the image follows from the encoder
+    private synchronized long reserve(String label) {
+        long frame = captured++;
+        int slot = (int) (frame % SIZE);
+        sequence[slot] = frame;
+        lengths[slot] = 0;
+        labels[slot] = label;
+        times[slot] = System.currentTimeMillis();
+        encoding[slot] = null;
+        return frame;
+    }
+
+    private synchronized void track(long frame, CompletableFuture<?> encoded) {
+        int slot = (int) (frame % SIZE);
+        if (sequence[slot] == frame) {
+            encoding[slot] = encoded;
+        }
+    }
+
+    private synchronized void fill(long frame, byte[] jpeg) {
+        int slot = (int) (frame % SIZE);
+        if (sequence[slot] != frame || jpeg.length > FRAME_BYTES) {
+            // Slot reused by a newer frame, or too big: keep the step without an image
+            return;
+        }
+        frames.put(slot * FRAME_BYTES, jpeg);
+        lengths[slot] = jpeg.length;
+    }
+
+    private void awaitEncoded(long frame) {
+        CompletableFuture<?> encoded;
+        synchronized (this) {
+            int slot = (int) (frame % SIZE);
+            encoded = sequence[slot] == frame ? encoding[slot] : null;
+        }
+        if (encoded == null) {
+            return;
+        }
+        try {
+            encoded.get(ENCODE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.out.println("Ring frame not encoded: " + e.getMessage());
+        }
+    }
+}
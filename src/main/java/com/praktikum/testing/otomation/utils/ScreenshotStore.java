@@ -0,0 +1,255 @@
+package com.praktikum.testing.otomation.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Content-addressed screenshot storage.
+// Every image is stored once under screenshots/store/<sha256 of pixels>.png;
+// the named file a test asks for (e.g. testX_FAILED_<time>.png) is a hard
+// link to it, or a copy where links are not supported. The same failure
+// screen repeated every night therefore costs disk space only once.
+// Old named files and store entries nobody links to are removed by collectGarbage.
+// Links share the blob's timestamp, so the time each name was created is kept
+// in an index (store/names.idx, one "<epoch ms> <path>" line per name); named
+// files missing from it (older runs, plain copies) are aged by their mtime.
+//   -Dscreenshot.retention.days  keep named screenshots this long (default 7)
+public class ScreenshotStore {
+    private static final Path SCREENSHOT_DIR = Paths.get("screenshots");
+    private static final Duration RETENTION = Duration.ofDays(Integer.getInteger("screenshot.retention.days", 7));
+    private static final String INDEX_FILE = "names.idx";
+
+    private static final LongAdder uniqueImages = new LongAdder();
+    private static final LongAdder duplicates = new LongAdder();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+
+    // Store the image and make it available under the given name
+    public static Path store(byte[] image, String extension, Path namedFile) throws IOException {
+        return store(SCREENSHOT_DIR, image, extension, namedFile, Instant.now());
+    }
+
+    static Path store(Path root, byte[] image, String extension, Path namedFile, Instant created) throws IOException {
+        Path storeDir = root.resolve("store");
+        Path blob = storeDir.resolve(hashOf(image) + "." + extension);
+        Files.createDirectories(storeDir);
+        if (Files.exists(blob)) {
+            duplicates.increment();
+            bytesSaved.addAndGet(image.length);
+        } else {
+            // Write to a temp file first, a half-written blob must never be shared
+            Path tmp = storeDir.resolve(blob.getFileName() + ".tmp-" + Thread.currentThread().getId());
+            Files.write(tmp, image);
+            try {
+                Files.move(tmp, blob, StandardCopyOption.ATOMIC_MOVE);
+                uniqueImages.increment();
+            } catch (FileAlreadyExistsException e) {
+                // Same image stored by another thread meanwhile
+                Files.deleteIfExists(tmp);
+                duplicates.increment();
+                bytesSaved.addAndGet(image.length);
+            }
+        }
+        link(blob, namedFile);
+        synchronized (ScreenshotStore.class) {
+            Files.writeString(storeDir.resolve(INDEX_FILE), created.toEpochMilli() + " " + namedFile + "\n",
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return namedFile;
+    }
+
+    // Delete named screenshots older than the retention and unreferenced store entries
+    public static void collectGarbage() {
+        collectGarbage(SCREENSHOT_DIR, Instant.now().minus(RETENTION));
+    }
+
+    static synchronized void collectGarbage(Path root, Instant cutoff) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Path storeDir = root.resolve("store");
+        Set<Path> indexed = new HashSet<>();
+        int namedDeleted = deleteIndexedOlderThan(storeDir.resolve(INDEX_FILE), cutoff, indexed);
+        namedDeleted += deleteOlderThan(root, cutoff, indexed);
+        int blobsDeleted = 0;
+        if (Files.isDirectory(storeDir)) {
+            try (DirectoryStream<Path> blobs = Files.newDirectoryStream(storeDir)) {
+                for (Path blob : blobs) {
+                    if (!blob.getFileName().toString().equals(INDEX_FILE) && isUnreferenced(blob, cutoff)) {
+                        Files.deleteIfExists(blob);
+                        blobsDeleted++;
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Cannot clean screenshot store: " + e.getMessage());
+            }
+        }
+        if (namedDeleted + blobsDeleted > 0) {
+            System.out.println("Screenshot GC: removed " + namedDeleted + " old screenshot(s), "
+                    + blobsDeleted + " unused stored image(s)");
+        }
+    }
+
+    public static void printStats() {
+        long unique = uniqueImages.sum();
+        long duplicateCount = duplicates.sum();
+        if (unique + duplicateCount == 0) {
+            return;
+        }
+        System.out.println("=== SCREENSHOT STORE ===");
+        System.out.println("Images: " + (unique + duplicateCount) + ", unique: " + unique
+                + ", duplicates: " + duplicateCount + String.format(" (%.1f KB saved)", bytesSaved.get() / 1024.0));
+    }
+
+    // SHA-256 of the decoded pixels, so re-encoded identical screens match too
+    static String hashOf(byte[] image) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        BufferedImage decoded = null;
+        try {
+            decoded = ImageIO.read(new ByteArrayInputStream(image));
+        } catch (IOException e) {
+            // Not decodable, fall back to the file bytes
+        }
+        if (decoded == null) {
+            digest.update(image);
+        } else {
+            digest.update(ByteBuffer.allocate(8).putInt(decoded.getWidth()).putInt(decoded.getHeight()).array());
+            DataBuffer buffer = decoded.getRaster().getDataBuffer();
+            if (buffer instanceof DataBufferByte) {
+                for (int bank = 0; bank < buffer.getNumBanks(); bank++) {
+                    digest.update(((DataBufferByte) buffer).getData(bank));
+                }
+            } else if (buffer instanceof DataBufferInt) {
+                int[] pixels = ((DataBufferInt) buffer).getData();
+                ByteBuffer bytes = ByteBuffer.allocate(pixels.length * 4);
+                bytes.asIntBuffer().put(pixels);
+                digest.update(bytes.array());
+            } else {
+                int[] pixels = decoded.getRGB(0, 0, decoded.getWidth(), decoded.getHeight(), null, 0, decoded.getWidth());
+                ByteBuffer bytes = ByteBuffer.allocate(pixels.length * 4);
+                bytes.asIntBuffer().put(pixels);
+                digest.update(bytes.array());
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void link(Path blob, Path namedFile) throws IOException {
+        if (namedFile.getParent() != null) {
+            Files.createDirectories(namedFile.getParent());
+        }
+        Files.deleteIfExists(namedFile);
+        try {
+            Files.createLink(namedFile, blob);
+        } catch (UnsupportedOperationException | IOException e) {
+            // File system without hard links: keep a plain copy
+            Files.copy(blob, namedFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Named files from the index, by their own creation time; the index keeps the ones still there.
+    // Files that stay are added to kept, so their (shared) mtime is not looked at.
+    private static int deleteIndexedOlderThan(Path index, Instant cutoff, Set<Path> kept) {
+        if (!Files.exists(index)) {
+            return 0;
+        }
+        int deleted = 0;
+        try {
+            // Latest line wins when a name was stored again
+            Map<String, Instant> created = new LinkedHashMap<>();
+            for (String line : Files.readAllLines(index)) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    try {
+                        created.put(line.substring(space + 1), Instant.ofEpochMilli(Long.parseLong(line.substring(0, space))));
+                    } catch (NumberFormatException e) {
+                        // Damaged line, the file falls back to its mtime
+                    }
+                }
+            }
+            StringBuilder remaining = new StringBuilder();
+            for (Map.Entry<String, Instant> entry : created.entrySet()) {
+                Path file = Paths.get(entry.getKey());
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                if (entry.getValue().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                } else {
+                    kept.add(file.toAbsolutePath().normalize());
+                    remaining.append(entry.getValue().toEpochMilli()).append(' ').append(entry.getKey()).append('\n');
+                }
+            }
+            Path tmp = index.resolveSibling(INDEX_FILE + ".tmp");
+            Files.writeString(tmp, remaining);
+            Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Cannot clean indexed screenshots: " + e.getMessage());
+        }
+        return deleted;
+    }
+
+    private static int deleteOlderThan(Path dir, Instant cutoff, Set<Path> skip) {
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+            for (Path file : files) {
+                if (!skip.contains(file.toAbsolutePath().normalize())
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Cannot clean screenshots: " + e.getMessage());
+        }
+        return deleted;
+    }
+
+    // A store entry is unused when no named file links to it any more
+    // (link count 1); without link counts it is kept for the retention period.
+    private static boolean isUnreferenced(Path blob, Instant cutoff) throws IOException {
+        try {
+            Object links = Files.getAttribute(blob, "unix:nlink");
+            if (links instanceof Integer) {
+                return (Integer) links <= 1;
+            }
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // No unix attributes on this file system
+        }
+        FileTime modified = Files.getLastModifiedTime(blob);
+        return modified.toInstant().isBefore(cutoff);
+    }
+}
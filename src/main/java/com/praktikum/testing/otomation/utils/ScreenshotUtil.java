@@ -1,42 +1,67 @@
 package com.praktikum.testing.otomation.utils;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 
-import java.io.File;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+// Screenshots are captured on the test thread (only the browser call) and
+// encoded and written to disk by a small background pool, so teardown does
+// not wait for file I/O. When the queue is full the test thread writes
+// itself, which keeps memory bounded. The file path is known upfront and
+// returned right away. Files are deduplicated by content, see ScreenshotStore.
+//   -Dscreenshot.writers  background writer threads (default 2)
+//   -Dscreenshot.format   png, jpg or webp (default png; webp needs an ImageIO plugin, else jpg)
+//   -Dscreenshot.scale    downscale factor 0..1 (default 1 = full size)
+//   -Dscreenshot.quality  jpg quality 0..1 (default 0.8)
 public class ScreenshotUtil {
+    private static final Path SCREENSHOT_DIR = Paths.get("screenshots");
+    private static final int WRITERS = Math.max(1, Integer.getInteger("screenshot.writers", 2));
+    private static final String FORMAT = resolveFormat(System.getProperty("screenshot.format", "png"));
+    private static final double SCALE = Math.min(1.0, Math.max(0.05,
+            Double.parseDouble(System.getProperty("screenshot.scale", "1.0"))));
+    private static final float QUALITY = Float.parseFloat(System.getProperty("screenshot.quality", "0.8"));
 
-    public static String takeScreenshot(WebDriver driver, String testName) {
-        try {
-            // Create screenshot directory if not exists
-            String screenshotDir = "screenshots/";
-            File directory = new File(screenshotDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-
-            // Generate timestamp
-            String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-
-            // Create file name
-            String fileName = screenshotDir + testName + "_" + timeStamp + ".png";
+    private static final AtomicInteger writerCount = new AtomicInteger();
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(WRITERS, WRITERS,
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer-" + writerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
 
-            // Take screenshot
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File source = ts.getScreenshotAs(OutputType.FILE);
+    private static final Set<CompletableFuture<Path>> pending = ConcurrentHashMap.newKeySet();
 
-            // Save to file
-            File destination = new File(fileName);
-            FileUtils.copyFile(source, destination);
-
-            System.out.println("Screenshot saved: " + fileName);
-            return fileName;
+    static {
+        writer.allowCoreThreadTimeOut(true);
+    }
 
+    // Capture now, write in the background; returns the path the file will have
+    public static String takeScreenshot(WebDriver driver, String testName) {
+        try {
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            Path file = plannedPath(testName);
+            writeEncoded(png, file);
+            return file.toString();
         } catch (Exception e) {
             System.out.println("Failed to take screenshot: " + e.getMessage());
             return null;
@@ -46,4 +71,100 @@ public class ScreenshotUtil {
     public static String takeScreenshot(WebDriver driver) {
         return takeScreenshot(driver, "screenshot");
     }
-}
\ No newline at end of file
+
+    // Screenshot of a single element (e.g. a modal), much smaller than the full window
+    public static String takeElementScreenshot(WebElement element, String name) {
+        try {
+            byte[] png = element.getScreenshotAs(OutputType.BYTES);
+            Path file = plannedPath(name);
+            writeEncoded(png, file);
+            return file.toString();
+        } catch (Exception e) {
+            System.out.println("Failed to take element screenshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Wait until every queued screenshot is on disk (call before rendering the report)
+    public static void awaitPending() {
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+    }
+
+    // Write an already encoded image as it is
+    static CompletableFuture<Path> write(byte[] image, String extension, Path file) {
+        return submit(file, extension, () -> image);
+    }
+
+    // Image work off the test thread, on the same bounded writer threads
+    // (when they are all busy, the caller does it itself)
+    static CompletableFuture<byte[]> encodeInBackground(Callable<byte[]> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, writer);
+    }
+
+    // Downscale / convert the PNG from the browser on the writer thread
+    private static void writeEncoded(byte[] png, Path file) {
+        submit(file, FORMAT, () -> encode(png));
+    }
+
+    private static CompletableFuture<Path> submit(Path file, String extension, Callable<byte[]> content) {
+        CompletableFuture<Path> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                ScreenshotStore.store(content.call(), extension, file);
+                System.out.println("Screenshot saved: " + file);
+                return file;
+            } catch (Exception e) {
+                System.out.println("Failed to save screenshot " + file + ": " + e.getMessage());
+                throw new CompletionException(e);
+            }
+        }, writer);
+        pending.add(future);
+        future.whenComplete((path, error) -> pending.remove(future));
+        return future;
+    }
+
+    private static byte[] encode(byte[] png) throws IOException {
+        if ("png".equals(FORMAT) && SCALE >= 1.0) {
+            return png;
+        }
+        BufferedImage image = ScreenshotImages.scale(ScreenshotImages.decode(png), SCALE);
+        switch (FORMAT) {
+            case "jpg":
+                return ScreenshotImages.encodeJpeg(image, QUALITY);
+            case "webp":
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(image, "webp", out);
+                return out.toByteArray();
+            default:
+                return ScreenshotImages.encodePng(image);
+        }
+    }
+
+    private static String resolveFormat(String format) {
+        String normalized = format.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("jpeg")) {
+            return "jpg";
+        }
+        if (normalized.equals("webp") && !ImageIO.getImageWritersByFormatName("webp").hasNext()) {
+            System.out.println("No WebP encoder for ImageIO on the classpath, using jpg screenshots");
+            return "jpg";
+        }
+        if (!normalized.equals("png") && !normalized.equals("jpg") && !normalized.equals("webp")) {
+            System.out.println("Unknown screenshot.format '" + format + "', using png");
+            return "png";
+        }
+        return normalized;
+    }
+
+    private static Path plannedPath(String testName) {
+        String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        return SCREENSHOT_DIR.resolve(testName + "_" + timeStamp + "." + FORMAT);
+    }
+}
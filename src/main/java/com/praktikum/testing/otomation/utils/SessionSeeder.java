@@ -0,0 +1,48 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Puts a browser into a logged-in state without the login form.
+// The auth token comes from the same /login call the form makes and is set
+// as the tokenp_ cookie, which is all the page checks on load. On Chrome the
+// cookie is set through DevTools, so no extra page load is needed; other
+// drivers first open the site to be on the right domain.
+// Tokens are cached per user for the run. The site comes from SiteConfig.
+public class SessionSeeder {
+    private static final String TOKEN_COOKIE = "tokenp_";
+
+    private static final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    // Log the driver in as the given user; reload the page to see it
+    public static void loginAs(WebDriver driver, TestDataGenerator.TestUser user) {
+        setCookie(driver, TOKEN_COOKIE, tokenFor(user));
+    }
+
+    // Auth token of the user (cached for the run)
+    public static String tokenFor(TestDataGenerator.TestUser user) {
+        return tokens.computeIfAbsent(user.username,
+                name -> new DemoblazeApi().login(user.username, user.password));
+    }
+
+    // Set a cookie for the site, before or after navigating to it
+    public static void setCookie(WebDriver driver, String name, String value) {
+        if (driver instanceof HasCdp) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Network.setCookie",
+                        Map.of("name", name, "value", value, "url", SiteConfig.siteUrl(), "path", "/"));
+                return;
+            } catch (Exception e) {
+                System.out.println("Cannot set cookie through DevTools: " + e.getMessage());
+            }
+        }
+        if (!driver.getCurrentUrl().startsWith(SiteConfig.siteUrl())) {
+            driver.get(SiteConfig.siteUrl());
+        }
+        driver.manage().addCookie(new Cookie(name, value, "/"));
+    }
+}
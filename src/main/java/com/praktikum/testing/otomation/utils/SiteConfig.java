@@ -0,0 +1,34 @@
+package com.praktikum.testing.otomation.utils;
+
+// Where the application under test lives.
+// Read on every call, so switching to the local stand-in (see
+// DemoblazeStandIn) after startup is picked up by pages created later.
+//   -Ddemoblaze.url      web site (default https://www.demoblaze.com/)
+//   -Ddemoblaze.api.url  backend (default https://api.demoblaze.com)
+public class SiteConfig {
+    public static final String DEFAULT_SITE_URL = "https://www.demoblaze.com/";
+    public static final String DEFAULT_API_URL = "https://api.demoblaze.com";
+
+    // Site root, always ending with "/"
+    public static String siteUrl() {
+        String url = System.getProperty("demoblaze.url", DEFAULT_SITE_URL);
+        return url.endsWith("/") ? url : url + "/";
+    }
+
+    // Page of the site, e.g. url("cart.html")
+    public static String url(String page) {
+        return siteUrl() + (page.startsWith("/") ? page.substring(1) : page);
+    }
+
+    // Backend root, without trailing "/"
+    public static String apiUrl() {
+        String url = System.getProperty("demoblaze.api.url", DEFAULT_API_URL);
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    // Point the suite at another copy of the site (e.g. the local stand-in)
+    public static void use(String siteUrl, String apiUrl) {
+        System.setProperty("demoblaze.url", siteUrl);
+        System.setProperty("demoblaze.api.url", apiUrl);
+    }
+}
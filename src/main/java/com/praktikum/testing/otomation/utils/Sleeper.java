@@ -0,0 +1,25 @@
+package com.praktikum.testing.otomation.utils;
+
+// The only sanctioned hard sleep.
+// Page objects and tests should wait for a condition (see WaitHelper);
+// this is left for fallbacks where no condition can be observed.
+// Run with -Dsync.strict=true to fail the test whenever a hard sleep is reached.
+public class Sleeper {
+    private static final boolean STRICT = Boolean.getBoolean("sync.strict");
+
+    public static void sleep(long millis) {
+        if (STRICT) {
+            throw new IllegalStateException("Hard sleep of " + millis
+                    + "ms reached in strict mode (-Dsync.strict=true), use a condition wait instead");
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static boolean isStrict() {
+        return STRICT;
+    }
+}
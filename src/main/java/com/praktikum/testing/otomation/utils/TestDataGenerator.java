@@ -1,9 +1,31 @@
 package com.praktikum.testing.otomation.utils;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Unique test data for parallel tests.
+// Usernames end with a run id (JVM pid + start time, so forked JVMs never
+// clash) and a sequence number, so they are unique without any lookup.
+// Every generated value gets its own SplittableRandom derived from the run
+// seed and its sequence number: no shared Random to contend on, and the
+// same seed gives the same data for the same sequence number, whichever
+// thread asks. The seed is printed so a failing run can be replayed.
+//   -Dtestdata.seed   replay with a fixed seed
+//   -Dtestdata.runId  override the run id (e.g. to replay a seed on a fresh account set)
 public class TestDataGenerator {
-    private static final Random random = new Random();
+    private static final boolean SEEDED = System.getProperty("testdata.seed") != null;
+    private static final long SEED = SEEDED
+            ? Long.parseLong(System.getProperty("testdata.seed"))
+            : ThreadLocalRandom.current().nextLong();
+    private static final String RUN_ID = System.getProperty("testdata.runId", SEEDED
+            ? "s" + Long.toString(SEED & Long.MAX_VALUE, 36)
+            : Long.toString(ProcessHandle.current().pid(), 36) + Long.toString(System.currentTimeMillis() / 1000, 36));
+    private static final AtomicLong sequence = new AtomicLong();
+
+    static {
+        System.out.println("Test data run id: " + RUN_ID + " (seed: " + SEED + ")");
+    }
 
     // First names
     private static final String[] FIRST_NAMES = {
@@ -17,16 +39,37 @@ public class TestDataGenerator {
             "Garcia", "Miller", "Davis", "Rodriguez", "Martinez"
     };
 
-    // Generate random username
+    // Generate unique username, e.g. "johnsmith_k3x9q1l2m_17"
     public static String generateUsername() {
-        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
-        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
-        int randomNum = random.nextInt(1000);
-        return firstName.toLowerCase() + lastName.toLowerCase() + randomNum;
+        long n = sequence.incrementAndGet();
+        return username(randomFor(n), n);
     }
 
     // Generate random password
     public static String generatePassword() {
+        return password(randomFor(sequence.incrementAndGet()));
+    }
+
+    // Generate unique email
+    public static String generateEmail() {
+        return generateUsername() + "@test.com";
+    }
+
+    public static String getRunId() {
+        return RUN_ID;
+    }
+
+    public static long getSeed() {
+        return SEED;
+    }
+
+    private static String username(SplittableRandom random, long n) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return firstName.toLowerCase() + lastName.toLowerCase() + "_" + RUN_ID + "_" + n;
+    }
+
+    private static String password(SplittableRandom random) {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%";
         StringBuilder password = new StringBuilder();
         for (int i = 0; i < 10; i++) {
@@ -35,9 +78,9 @@ public class TestDataGenerator {
         return password.toString();
     }
 
-    // Generate random email
-    public static String generateEmail() {
-        return generateUsername() + "@test.com";
+    // Independent random stream for the n-th generated value
+    private static SplittableRandom randomFor(long n) {
+        return new SplittableRandom(SEED ^ (n * 0x9E3779B97F4A7C15L));
     }
 
     // Generate random product name (from actual Demoblaze products)
@@ -47,7 +90,7 @@ public class TestDataGenerator {
                 "Samsung galaxy s7", "Iphone 6 32gb", "Sony xperia z5",
                 "HTC One M9", "Sony vaio i5", "Sony vaio i7"
         };
-        return products[random.nextInt(products.length)];
+        return products[randomFor(sequence.incrementAndGet()).nextInt(products.length)];
     }
 
     // Generate test user for Demoblaze
@@ -57,9 +100,19 @@ public class TestDataGenerator {
         public String email;
 
         public TestUser() {
-            this.username = generateUsername();
-            this.password = generatePassword();
-            this.email = generateEmail();
+            // One sequence number (and random stream) for the whole user
+            long n = sequence.incrementAndGet();
+            SplittableRandom random = randomFor(n);
+            this.username = username(random, n);
+            this.password = password(random);
+            this.email = username + "@test.com";
+        }
+
+        // Existing account (e.g. from the user pool file)
+        public TestUser(String username, String password) {
+            this.username = username;
+            this.password = password;
+            this.email = username + "@test.com";
         }
 
         @Override
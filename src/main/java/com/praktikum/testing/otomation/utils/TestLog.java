@@ -0,0 +1,89 @@
+package com.praktikum.testing.otomation.utils;
+
+import com.aventstack.extentreports.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Report entries of one running test.
+// Appends go to a lock-free queue owned by the test, so logging never waits
+// for other test threads; the entries are handed to ExtentReports in one go
+// when the test ends (ExtentReportManager.endTest).
+public class TestLog {
+
+    public record Entry(long timestamp, Status status, String message, String screenshotPath) {
+    }
+
+    private final String name;
+    private final long startTime;
+    private volatile long endTime;
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    public TestLog(String name) {
+        this(name, System.currentTimeMillis());
+    }
+
+    // Used when reading a test back from the report stream
+    TestLog(String name, long startTime) {
+        this.name = name;
+        this.startTime = startTime;
+    }
+
+    public TestLog log(Status status, String message) {
+        entries.add(new Entry(System.currentTimeMillis(), status, message, null));
+        return this;
+    }
+
+    public TestLog info(String message) {
+        return log(Status.INFO, message);
+    }
+
+    public TestLog pass(String message) {
+        return log(Status.PASS, message);
+    }
+
+    public TestLog fail(String message) {
+        return log(Status.FAIL, message);
+    }
+
+    public TestLog skip(String message) {
+        return log(Status.SKIP, message);
+    }
+
+    public TestLog warning(String message) {
+        return log(Status.WARNING, message);
+    }
+
+    // Attach a screenshot file (path relative to the report or absolute)
+    public TestLog addScreenshot(Status status, String message, String screenshotPath) {
+        entries.add(new Entry(System.currentTimeMillis(), status, message, screenshotPath));
+        return this;
+    }
+
+    void add(Entry entry) {
+        entries.add(entry);
+    }
+
+    void finish(long time) {
+        endTime = time;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    // End time, or the current time while the test is still running
+    public long getEndTime() {
+        return endTime == 0 ? System.currentTimeMillis() : endTime;
+    }
+
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+}
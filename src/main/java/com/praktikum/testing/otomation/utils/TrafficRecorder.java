@@ -0,0 +1,135 @@
+package com.praktikum.testing.otomation.utils;
+
+import com.praktikum.testing.otomation.server.DemoblazeBackend;
+import com.praktikum.testing.otomation.server.HttpFixture;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+// Records the backend calls the pages make during a normal test run, for
+// replay by the local stand-in (-Ddemoblaze.standin.replay).
+// An in-page recorder (registered next to the NetworkMonitor interceptor)
+// appends every finished XHR/fetch with its request and response to
+// sessionStorage, which survives page navigations within the site. After
+// each test the entries are collected from the browser, and only calls to
+// backend endpoints are kept. The fixture file is merged with earlier
+// recordings and written at the end of the suite.
+//   -Dtraffic.record  fixture file to record into, e.g. test-data/demoblaze-traffic.ndjson.gz
+//                     (recording is off without it)
+public class TrafficRecorder {
+    private static final String STORAGE_KEY = "__trafficLog";
+    private static final String FILE = System.getProperty("traffic.record");
+
+    static final String RECORDER_SCRIPT = String.join("\n",
+            "(function () {",
+            "  if (window.__trafficRecorder) { return; }",
+            "  window.__trafficRecorder = true;",
+            "  function save(entry) {",
+            "    try {",
+            "      var log = JSON.parse(sessionStorage.getItem('" + STORAGE_KEY + "') || '[]');",
+            "      log.push(entry);",
+            "      sessionStorage.setItem('" + STORAGE_KEY + "', JSON.stringify(log));",
+            "    } catch (e) { /* storage full or not available */ }",
+            "  }",
+            "  function absolute(url) { try { return new URL(url, location.href).href; } catch (e) { return String(url); } }",
+            "  var open = XMLHttpRequest.prototype.open;",
+            "  XMLHttpRequest.prototype.open = function (method, url) {",
+            "    this.__record = {method: String(method).toUpperCase(), url: absolute(url)};",
+            "    return open.apply(this, arguments);",
+            "  };",
+            "  var send = XMLHttpRequest.prototype.send;",
+            "  XMLHttpRequest.prototype.send = function (body) {",
+            "    var xhr = this, record = xhr.__record;",
+            "    if (record) {",
+            "      record.body = typeof body === 'string' ? body : '';",
+            "      xhr.addEventListener('load', function () {",
+            "        var text;",
+            "        try { text = xhr.responseText; } catch (e) { return; }",
+            "        save({method: record.method, url: record.url, body: record.body, status: xhr.status,",
+            "              type: xhr.getResponseHeader('Content-Type') || '', response: text});",
+            "      });",
+            "    }",
+            "    return send.apply(this, arguments);",
+            "  };",
+            "  if (window.fetch) {",
+            "    var originalFetch = window.fetch;",
+            "    window.fetch = function (input, init) {",
+            "      var method = ((init && init.method) || (input && input.method) || 'GET').toUpperCase();",
+            "      var url = absolute(typeof input === 'string' ? input : input.url);",
+            "      var body = init && typeof init.body === 'string' ? init.body : '';",
+            "      return originalFetch.apply(this, arguments).then(function (response) {",
+            "        response.clone().text().then(function (text) {",
+            "          save({method: method, url: url, body: body, status: response.status,",
+            "                type: response.headers.get('Content-Type') || '', response: text});",
+            "        });",
+            "        return response;",
+            "      });",
+            "    };",
+            "  }",
+            "})();");
+
+    private static final String HARVEST_SCRIPT =
+            "var log = sessionStorage.getItem('" + STORAGE_KEY + "');"
+                    + " sessionStorage.removeItem('" + STORAGE_KEY + "');"
+                    + " return log ? JSON.parse(log) : [];";
+
+    private static HttpFixture fixture;
+    private static int recorded = 0;
+
+    public static boolean isEnabled() {
+        return FILE != null && !FILE.isBlank();
+    }
+
+    // Move the calls recorded in the browser into the fixture (call before the session is reset)
+    @SuppressWarnings("unchecked")
+    public static void harvest(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        List<Map<String, Object>> log;
+        try {
+            log = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(HARVEST_SCRIPT);
+        } catch (Exception e) {
+            // Not on the site (e.g. about:blank) or the page is gone
+            return;
+        }
+        if (log == null) {
+            return;
+        }
+        synchronized (TrafficRecorder.class) {
+            for (Map<String, Object> call : log) {
+                String path = URI.create(String.valueOf(call.get("url"))).getPath();
+                if (!DemoblazeBackend.ENDPOINTS.contains(path)) {
+                    continue;
+                }
+                fixture().put(String.valueOf(call.get("method")), path, String.valueOf(call.get("body")),
+                        ((Number) call.get("status")).intValue(), String.valueOf(call.get("type")),
+                        String.valueOf(call.get("response")));
+                recorded++;
+            }
+        }
+    }
+
+    // Write the fixture (merged with the earlier recordings in the file)
+    public static synchronized void save() {
+        if (!isEnabled() || fixture == null) {
+            return;
+        }
+        Path file = Paths.get(FILE);
+        fixture.save(file);
+        System.out.println("Recorded " + recorded + " backend call(s), fixture has "
+                + fixture.size() + " response(s): " + file);
+    }
+
+    private static HttpFixture fixture() {
+        if (fixture == null) {
+            fixture = HttpFixture.load(Paths.get(FILE));
+        }
+        return fixture;
+    }
+}
@@ -0,0 +1,151 @@
+package com.praktikum.testing.otomation.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Pool of registered Demoblaze accounts for tests that need to log in.
+// Accounts are created once through the signup API (all at the same time,
+// not through the signup modal) and saved to a local file, so later runs
+// reuse them. Each account is leased to one test thread at a time, so
+// parallel tests never share a session or a cart.
+//   -Duser.pool.file  account file (default test-data/user-pool.properties)
+//   -Duser.pool.size  accounts to keep (default: driver pool size)
+public class UserPool {
+    private static final Path POOL_FILE = Paths.get(
+            System.getProperty("user.pool.file", "test-data/user-pool.properties"));
+    private static final int SIZE = Math.max(1, Integer.getInteger("user.pool.size", DriverPool.getMaxSize()));
+    private static final long LEASE_TIMEOUT_SECONDS = 120;
+
+    private static final BlockingQueue<TestDataGenerator.TestUser> available = new LinkedBlockingQueue<>();
+    private static final ThreadLocal<TestDataGenerator.TestUser> leased = new ThreadLocal<>();
+    private static volatile boolean initialized = false;
+    private static int poolSize = 0;
+
+    // Lease an account for the current thread (same account if already leased)
+    public static TestDataGenerator.TestUser lease() {
+        TestDataGenerator.TestUser user = leased.get();
+        if (user != null) {
+            return user;
+        }
+        initialize();
+        if (poolSize == 0) {
+            throw new IllegalStateException("No test users in " + POOL_FILE + " and none could be created");
+        }
+        try {
+            user = available.poll(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a test user", e);
+        }
+        if (user == null) {
+            throw new IllegalStateException("No test user available after " + LEASE_TIMEOUT_SECONDS + "s");
+        }
+        leased.set(user);
+        return user;
+    }
+
+    // Give the current thread's account back
+    public static void release() {
+        TestDataGenerator.TestUser user = leased.get();
+        if (user != null) {
+            leased.remove();
+            available.offer(user);
+        }
+    }
+
+    private static void initialize() {
+        if (initialized) {
+            return;
+        }
+        synchronized (UserPool.class) {
+            if (initialized) {
+                return;
+            }
+            List<TestDataGenerator.TestUser> users = load();
+            int missing = SIZE - users.size();
+            if (missing > 0) {
+                users.addAll(provision(missing));
+                save(users);
+            }
+            // Also an empty pool counts as initialized, so tests fail fast instead of retrying signup
+            available.addAll(users);
+            poolSize = users.size();
+            System.out.println("User pool ready: " + users.size() + " account(s) from " + POOL_FILE);
+            initialized = true;
+        }
+    }
+
+    // Register new accounts through the API, all requests in flight together
+    private static List<TestDataGenerator.TestUser> provision(int count) {
+        DemoblazeApi api = new DemoblazeApi();
+        List<TestDataGenerator.TestUser> candidates = new ArrayList<>();
+        List<CompletableFuture<Boolean>> signups = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TestDataGenerator.TestUser user = TestDataGenerator.getNewTestUser();
+            candidates.add(user);
+            signups.add(api.signupAsync(user.username, user.password));
+        }
+
+        List<TestDataGenerator.TestUser> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            try {
+                if (signups.get(i).join()) {
+                    created.add(candidates.get(i));
+                }
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.out.println("Cannot create test user: " + cause);
+            }
+        }
+        System.out.println("Created " + created.size() + " of " + count + " test user(s)");
+        return created;
+    }
+
+    private static List<TestDataGenerator.TestUser> load() {
+        List<TestDataGenerator.TestUser> users = new ArrayList<>();
+        if (!Files.exists(POOL_FILE)) {
+            return users;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(POOL_FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Cannot read user pool: " + e.getMessage());
+            return users;
+        }
+        properties.stringPropertyNames().stream().sorted()
+                .forEach(name -> users.add(new TestDataGenerator.TestUser(name, properties.getProperty(name))));
+        return users;
+    }
+
+    private static void save(List<TestDataGenerator.TestUser> users) {
+        Properties properties = new Properties();
+        for (TestDataGenerator.TestUser user : users) {
+            properties.setProperty(user.username, user.password);
+        }
+        try {
+            if (POOL_FILE.getParent() != null) {
+                Files.createDirectories(POOL_FILE.getParent());
+            }
+            Path tmp = POOL_FILE.resolveSibling(POOL_FILE.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "Demoblaze test accounts (username=password)");
+            }
+            Files.move(tmp, POOL_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Cannot save user pool: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs a page-object journey as N concurrent virtual users.
+// Users start one after another over the ramp-up, then keep repeating the
+// journey until the steady state is over. Each journey leases a browser from
+// DriverPool and returns it afterwards, so more users than browsers simply
+// queue for a session (the lease wait is reported too). Between steps, and
+// between journeys, a user pauses for a random think time.
+// Only journeys started in the steady state count for throughput, failures
+// and the step percentiles; ramp-up iterations warm up browsers and caches.
+//   -Dload.users          virtual users (default: driver pool size)
+//   -Dload.rampUp         ramp-up in seconds (default 30)
+//   -Dload.steady         steady state in seconds (default 120)
+//   -Dload.think.min/max  think time in ms (default 500-2000)
+public class VirtualUserLoad {
+
+    // One user journey through the page objects; report each part as a step
+    @FunctionalInterface
+    public interface Journey {
+        void run(WebDriver driver, Steps steps);
+    }
+
+    // Times the steps of one journey iteration
+    public final class Steps {
+        private final boolean measured;
+
+        private Steps(boolean measured) {
+            this.measured = measured;
+        }
+
+        public void step(String name, Runnable action) {
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                if (measured) {
+                    failures.computeIfAbsent(name, key -> new LongAdder()).increment();
+                }
+                throw e;
+            }
+            if (measured) {
+                stats(name).recordNanos(System.nanoTime() - start);
+            }
+            think();
+        }
+    }
+
+    private final String name;
+    private final Journey journey;
+    private int users = Integer.getInteger("load.users", DriverPool.getMaxSize());
+    private Duration rampUp = Duration.ofSeconds(Long.getLong("load.rampUp", 30));
+    private Duration steadyState = Duration.ofSeconds(Long.getLong("load.steady", 120));
+    private long thinkMinMillis = Long.getLong("load.think.min", 500);
+    private long thinkMaxMillis = Long.getLong("load.think.max", 2000);
+
+    // Per-step statistics in the order the steps first ran
+    private final Map<String, LatencyStats> steps = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, LongAdder> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final LatencyStats journeys = new LatencyStats("journey");
+    private final LatencyStats leaseWait = new LatencyStats("browser lease");
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // Failures during ramp-up, reported but not part of the measured window
+    private final LongAdder rampUpFailed = new LongAdder();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger peakUsers = new AtomicInteger();
+
+    public VirtualUserLoad(String name, Journey journey) {
+        this.name = name;
+        this.journey = journey;
+    }
+
+    public VirtualUserLoad users(int users) {
+        this.users = Math.max(1, users);
+        return this;
+    }
+
+    public VirtualUserLoad rampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    public VirtualUserLoad steadyState(Duration steadyState) {
+        this.steadyState = steadyState;
+        return this;
+    }
+
+    public VirtualUserLoad thinkTime(Duration min, Duration max) {
+        this.thinkMinMillis = min.toMillis();
+        this.thinkMaxMillis = Math.max(min.toMillis(), max.toMillis());
+        return this;
+    }
+
+    // Run all phases; returns when the last journey has finished
+    public VirtualUserLoad run() {
+        System.out.println(String.format("=== LOAD: %s - %d user(s), ramp-up %ds, steady %ds, think %d-%dms ===",
+                name, users, rampUp.getSeconds(), steadyState.getSeconds(), thinkMinMillis, thinkMaxMillis));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(users, runnable -> {
+            Thread thread = new Thread(runnable, "virtual-user-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long steadyStart = start + rampUp.toNanos();
+        long end = steadyStart + steadyState.toNanos();
+        for (int i = 0; i < users; i++) {
+            long startAt = start + rampUp.toNanos() * i / users;
+            pool.execute(() -> runUser(startAt, steadyStart, end));
+        }
+
+        pool.shutdown();
+        try {
+            // Journeys started just before the end still finish
+            if (!pool.awaitTermination(rampUp.plus(steadyState).plusMinutes(5).toMillis(), TimeUnit.MILLISECONDS)) {
+                System.out.println("Load run did not finish in time, stopping virtual users");
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return this;
+    }
+
+    private void runUser(long startAt, long steadyStart, long end) {
+        pause(TimeUnit.NANOSECONDS.toMillis(startAt - System.nanoTime()));
+        peakUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max);
+        try {
+            while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                long journeyStart = System.nanoTime();
+                boolean measured = journeyStart >= steadyStart;
+
+                WebDriver driver;
+                try {
+                    driver = DriverPool.lease();
+                } catch (RuntimeException e) {
+                    countFailure(measured);
+                    System.out.println(Thread.currentThread().getName() + " got no browser: " + e.getMessage());
+                    think();
+                    continue;
+                }
+                leaseWait.recordNanos(System.nanoTime() - journeyStart);
+                try {
+                    long runStart = System.nanoTime();
+                    journey.run(driver, new Steps(measured));
+                    if (measured) {
+                        journeys.recordNanos(System.nanoTime() - runStart);
+                        completed.increment();
+                    }
+                } catch (RuntimeException e) {
+                    countFailure(measured);
+                    System.out.println(Thread.currentThread().getName() + " journey failed: " + e.getMessage());
+                } finally {
+                    DriverPool.release();
+                }
+                think();
+            }
+        } finally {
+            activeUsers.decrementAndGet();
+        }
+    }
+
+    private void countFailure(boolean measured) {
+        (measured ? failed : rampUpFailed).increment();
+    }
+
+    // Journeys completed per minute of steady state
+    public double getThroughputPerMinute() {
+        double minutes = steadyState.toMillis() / 60_000.0;
+        return minutes == 0 ? 0 : completed.sum() / minutes;
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    // Journeys started in the steady state that failed (same window as getCompleted)
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public LatencyStats getStepStats(String step) {
+        return steps.get(step);
+    }
+
+    public void printReport() {
+        System.out.println("=== LOAD REPORT: " + name + " ===");
+        System.out.println(String.format("Users: %d (peak active %d), journeys: %d completed, %d failed",
+                users, peakUsers.get(), completed.sum(), failed.sum()));
+        System.out.println(String.format("Throughput: %.1f journeys/min", getThroughputPerMinute()));
+        if (rampUpFailed.sum() > 0) {
+            System.out.println("Ramp-up (not measured): " + rampUpFailed.sum() + " failed journey(s)");
+        }
+        System.out.println(journeys.summary());
+        synchronized (steps) {
+            steps.values().forEach(stats -> System.out.println("  " + stats.summary()));
+        }
+        synchronized (failures) {
+            failures.forEach((step, count) -> System.out.println("  failures in " + step + ": " + count.sum()));
+        }
+        System.out.println(leaseWait.summary());
+    }
+
+    private LatencyStats stats(String step) {
+        return steps.computeIfAbsent(step, LatencyStats::new);
+    }
+
+    private void think() {
+        long millis = thinkMaxMillis <= thinkMinMillis ? thinkMinMillis
+                : ThreadLocalRandom.current().nextLong(thinkMinMillis, thinkMaxMillis + 1);
+        pause(millis);
+    }
+
+    // Think time is part of the load model, not a synchronisation, so no Sleeper here
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,38 +1,82 @@
 package com.praktikum.testing.otomation.utils;
 
+import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
-import java.util.List;
 
 public class WaitHelper {
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration NETWORK_QUIET = Duration.ofMillis(Long.getLong("network.quiet.ms", 300));
+
+    // DOM states understood by the in-page wait script
+    private static final String PRESENT = "present";
+    private static final String VISIBLE = "visible";
+    private static final String HIDDEN = "hidden";
+
+    // Resolves as soon as a MutationObserver sees the condition become true,
+    // so the whole wait costs a single WebDriver round trip.
+    // Arguments: css selector, state, timeout in ms, async callback.
+    private static final String DOM_WAIT_SCRIPT = String.join("\n",
+            "var selector = arguments[0], state = arguments[1], timeout = arguments[2];",
+            "var done = arguments[arguments.length - 1];",
+            "function isVisible(el) {",
+            "  return (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0)",
+            "      && window.getComputedStyle(el).visibility !== 'hidden';",
+            "}",
+            "function check() {",
+            "  var elements = document.querySelectorAll(selector);",
+            "  if (state === 'present') { return elements.length > 0; }",
+            "  var anyVisible = Array.prototype.some.call(elements, isVisible);",
+            "  return state === 'visible' ? anyVisible : !anyVisible;",
+            "}",
+            "if (check()) { done(true); return; }",
+            "var finished = false, observer, timer;",
+            "function finish(result) {",
+            "  if (finished) { return; }",
+            "  finished = true; observer.disconnect(); clearTimeout(timer); done(result);",
+            "}",
+            "observer = new MutationObserver(function () { if (check()) { finish(true); } });",
+            "observer.observe(document.documentElement, {childList: true, subtree: true,",
+            "  attributes: true, attributeFilter: ['class', 'style', 'hidden']});",
+            "timer = setTimeout(function () { finish(check()); }, timeout);");
+
     private WebDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
 
     public WaitHelper(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new AdaptiveWait(driver, TIMEOUT);
     }
 
     // Wait for modal to appear (Demoblaze uses modals for login/signup)
     public void waitForModal() {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.className("modal-content")));
+        waitForDom(".modal-content", VISIBLE);
     }
 
     public void waitForModalToDisappear() {
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(
-                By.className("modal-content")));
+        waitForDom(".modal-content", HIDDEN);
     }
 
     // Wait for products to load
     public void waitForProducts() {
-        wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(
-                By.className("card"), 0));
+        waitForDom(".card", PRESENT);
+    }
+
+    // Wait until an element matching the CSS selector is visible
+    public void waitForVisible(String cssSelector) {
+        waitForDom(cssSelector, VISIBLE);
+    }
+
+    // Wait until no element matching the CSS selector is visible
+    public void waitForHidden(String cssSelector) {
+        waitForDom(cssSelector, HIDDEN);
     }
 
     // Wait for specific text in element
@@ -49,4 +93,98 @@ public class WaitHelper {
     public void waitForStaleness(WebElement element) {
         wait.until(ExpectedConditions.stalenessOf(element));
     }
-}
\ No newline at end of file
+
+    // Wait for a JS alert (Demoblaze reports login/signup/cart results with alerts)
+    public Alert waitForAlert() {
+        return wait.until(ExpectedConditions.alertIsPresent());
+    }
+
+    // Wait for a Bootstrap modal (logInModal, signInModal, orderModal) to finish opening
+    public void waitForModalShown(String modalId) {
+        waitForDom("#" + modalId + ".show", VISIBLE);
+    }
+
+    public void waitForModalHidden(String modalId) {
+        waitForDom("#" + modalId, HIDDEN);
+    }
+
+    // Wait until the form submit either raised an alert or closed the modal
+    public void waitForAlertOrModalHidden(String modalId) {
+        wait.until(ExpectedConditions.or(
+                ExpectedConditions.alertIsPresent(),
+                ExpectedConditions.invisibilityOfElementLocated(By.id(modalId))));
+    }
+
+    // Wait until the cart table has at least the given number of rows
+    public void waitForCartRows(int minRows) {
+        wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(
+                By.cssSelector("#tbodyid > tr"), minRows - 1));
+    }
+
+    // Wait until no XHR/fetch request has been running for the quiet window
+    // (-Dnetwork.quiet.ms, default 300), i.e. the AJAX data has arrived
+    public void waitForNetworkIdle() {
+        waitForNetworkIdle(NETWORK_QUIET);
+    }
+
+    public void waitForNetworkIdle(Duration quiet) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            Sleeper.sleep(1000);
+            return;
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        try {
+            long start = System.nanoTime();
+            Object result = js.executeAsyncScript(NetworkMonitor.IDLE_WAIT_SCRIPT, quiet.toMillis(), TIMEOUT.toMillis());
+            if ("no-monitor".equals(result)) {
+                NetworkMonitor.injectIntoPage(driver);
+                result = js.executeAsyncScript(NetworkMonitor.IDLE_WAIT_SCRIPT, quiet.toMillis(), TIMEOUT.toMillis());
+            }
+            if (Boolean.TRUE.equals(result)) {
+                AdaptiveWait.record("network idle", System.nanoTime() - start, TIMEOUT);
+                return;
+            }
+            throw new TimeoutException("Timed out after " + TIMEOUT.getSeconds()
+                    + "s waiting for network idle (" + quiet.toMillis() + "ms quiet)");
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Page navigated during the wait, fall back to polling jQuery
+            wait.until("network idle", d -> (Boolean) ((JavascriptExecutor) d).executeScript(
+                    "return document.readyState === 'complete'"
+                            + " && (!window.jQuery || window.jQuery.active === 0);"));
+        }
+    }
+
+    // Wait in the page with a MutationObserver; poll with WebDriverWait if the
+    // script cannot run (no JS support, page navigated away during the wait)
+    private void waitForDom(String cssSelector, String state) {
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                long start = System.nanoTime();
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                        DOM_WAIT_SCRIPT, cssSelector, state, TIMEOUT.toMillis());
+                if (Boolean.TRUE.equals(result)) {
+                    AdaptiveWait.record("dom " + state + ": " + cssSelector, System.nanoTime() - start, TIMEOUT);
+                    return;
+                }
+                throw new TimeoutException("Timed out after " + TIMEOUT.getSeconds()
+                        + "s waiting for '" + cssSelector + "' to be " + state);
+            } catch (TimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Fall back to polling below
+            }
+        }
+
+        By locator = By.cssSelector(cssSelector);
+        if (PRESENT.equals(state)) {
+            wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, 0));
+        } else if (VISIBLE.equals(state)) {
+            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        } else {
+            wait.until(ExpectedConditions.invisibilityOfAllElements(driver.findElements(locator)));
+        }
+    }
+}
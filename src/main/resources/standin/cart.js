@@ -0,0 +1,57 @@
+// Cart table, order form and purchase popup (cart.html)
+var cartTotal = 0;
+
+function loadCart() {
+  var owner = cartCookie();
+  api('/viewcart', {cookie: owner.cookie, flag: owner.flag}, function (data) {
+    var body = document.getElementById('tbodyid');
+    var items = data.Items || [];
+    var rows = new Array(items.length);
+    var pending = items.length;
+    cartTotal = 0;
+    body.innerHTML = '';
+    document.getElementById('totalp').textContent = '';
+    items.forEach(function (entry, index) {
+      api('/view', {id: entry.prod_id}, function (item) {
+        cartTotal += item.price;
+        rows[index] = '<tr class="success"><td><img width="100" height="100" src="' + item.img + '"></td>'
+            + '<td>' + item.title + '</td><td>' + item.price + '</td>'
+            + '<td><a href="#" onclick="deleteItem(\'' + entry.id + '\'); return false;">Delete</a></td></tr>';
+        if (--pending === 0) {
+          body.innerHTML = rows.join('');
+          document.getElementById('totalp').textContent = cartTotal;
+        }
+      });
+    });
+  });
+}
+
+function deleteItem(id) {
+  api('/deleteitem', {id: id}, loadCart);
+}
+
+function purchaseOrder() {
+  var name = document.getElementById('name').value;
+  var card = document.getElementById('card').value;
+  if (!name || !card) {
+    alert('Please fill out Name and Creditcard.');
+    return;
+  }
+  var today = new Date();
+  var popup = document.querySelector('.sweet-alert');
+  popup.querySelector('p.lead').innerHTML = 'Id: ' + Math.floor(Math.random() * 10000000)
+      + '<br>Amount: ' + cartTotal + ' USD'
+      + '<br>Card Number: ' + card
+      + '<br>Name: ' + name
+      + '<br>Date: ' + today.getDate() + '/' + (today.getMonth() + 1) + '/' + today.getFullYear();
+  hideModal('orderModal');
+  popup.classList.add('showSweetAlert', 'visible');
+  api('/deletecart', {cookie: cartCookie().cookie});
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+  document.querySelector('[data-target="#orderModal"]').addEventListener('click', function () {
+    document.getElementById('totalm').textContent = 'Total: ' + cartTotal;
+  });
+  loadCart();
+});
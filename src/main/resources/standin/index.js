@@ -0,0 +1,43 @@
+// Product list with categories and pagination (index.html)
+function renderCards(data) {
+  var container = document.getElementById('tbodyid');
+  container.innerHTML = '';
+  (data.Items || []).forEach(function (item) {
+    container.insertAdjacentHTML('beforeend',
+        '<div class="col-lg-4 col-md-6 mb-4"><div class="card h-100">'
+        + '<a href="prod.html?idp_=' + item.id + '"><img class="card-img-top img-fluid" src="' + item.img + '" alt=""></a>'
+        + '<div class="card-block">'
+        + '<h4 class="card-title"><a href="prod.html?idp_=' + item.id + '" class="hrefch">' + item.title + '</a></h4>'
+        + '<h5>$' + item.price + '</h5>'
+        + '<p class="card-text" id="article">' + item.desc + '</p>'
+        + '</div></div></div>');
+  });
+}
+
+function showPage(data, first) {
+  renderCards(data);
+  var next = document.getElementById('next2');
+  var prev = document.getElementById('prev2');
+  next.style.display = data.LastEvaluatedKey ? 'block' : 'none';
+  prev.style.display = first ? 'none' : 'block';
+  next.onclick = data.LastEvaluatedKey ? function () {
+    api('/pagination', {id: data.LastEvaluatedKey.id}, function (page) { showPage(page, false); });
+  } : null;
+}
+
+function loadEntries() {
+  api('/entries', {}, function (data) { showPage(data, true); });
+}
+
+function byCat(category) {
+  api('/bycat', {cat: category}, function (data) {
+    renderCards(data);
+    document.getElementById('next2').style.display = 'none';
+    document.getElementById('prev2').style.display = 'none';
+  });
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+  document.getElementById('prev2').onclick = loadEntries;
+  loadEntries();
+});
@@ -0,0 +1,26 @@
+// Product details (prod.html?idp_=<id>)
+function productId() {
+  var match = /[?&]idp_=([^&]+)/.exec(window.location.search);
+  return match ? decodeURIComponent(match[1]) : '';
+}
+
+function addToCart(id) {
+  var owner = cartCookie();
+  api('/addtocart', {id: uuid(), cookie: owner.cookie, prod_id: id, flag: owner.flag}, function () {
+    alert('Product added.');
+  });
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+  api('/view', {id: productId()}, function (item) {
+    if (!item || item.errorMessage) {
+      return;
+    }
+    document.getElementById('imgp').src = item.img;
+    document.querySelector('.name').textContent = item.title;
+    document.querySelector('.price-container').innerHTML = '$' + item.price + ' <small>*includes tax</small>';
+    document.querySelector('#more-information p').textContent = item.desc;
+    document.getElementById('add-to-cart').innerHTML =
+        '<a href="#" onclick="addToCart(' + item.id + '); return false;" class="btn btn-success btn-lg">Add to cart</a>';
+  });
+});
@@ -0,0 +1,135 @@
+// Shared behaviour of the stand-in pages: cookies, API calls, modals and
+// the login / signup / logout flow of the navigation bar.
+var API_URL = window.location.origin;
+
+function getCookie(name) {
+  var parts = document.cookie ? document.cookie.split('; ') : [];
+  for (var i = 0; i < parts.length; i++) {
+    var index = parts[i].indexOf('=');
+    if (parts[i].substring(0, index) === name) {
+      return decodeURIComponent(parts[i].substring(index + 1));
+    }
+  }
+  return null;
+}
+
+function setCookie(name, value) {
+  document.cookie = name + '=' + encodeURIComponent(value) + '; path=/';
+}
+
+function deleteCookie(name) {
+  document.cookie = name + '=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+}
+
+function uuid() {
+  return 'xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx'.replace(/[xy]/g, function (c) {
+    var r = Math.random() * 16 | 0;
+    return (c === 'x' ? r : (r & 0x3 | 0x8)).toString(16);
+  });
+}
+
+// POST a JSON body to the backend, callback gets the parsed response
+function api(path, body, callback) {
+  var request = new XMLHttpRequest();
+  request.open('POST', API_URL + path);
+  request.setRequestHeader('Content-Type', 'application/json');
+  request.onload = function () {
+    var data = request.responseText ? JSON.parse(request.responseText) : '';
+    if (callback) { callback(data); }
+  };
+  request.send(JSON.stringify(body || {}));
+}
+
+// Cart owner: auth token when logged in, else the anonymous "user" cookie
+function cartCookie() {
+  var token = getCookie('tokenp_');
+  return token ? {cookie: token, flag: true} : {cookie: getCookie('user'), flag: false};
+}
+
+function showModal(id) {
+  var modal = document.getElementById(id);
+  modal.classList.add('show');
+  modal.setAttribute('aria-hidden', 'false');
+}
+
+function hideModal(id) {
+  var modal = document.getElementById(id);
+  modal.classList.remove('show');
+  modal.setAttribute('aria-hidden', 'true');
+}
+
+document.addEventListener('click', function (event) {
+  var toggle = event.target.closest('[data-toggle="modal"]');
+  if (toggle) {
+    event.preventDefault();
+    showModal(toggle.getAttribute('data-target').substring(1));
+    return;
+  }
+  var dismiss = event.target.closest('[data-dismiss="modal"]');
+  if (dismiss) {
+    hideModal(dismiss.closest('.modal').id);
+  }
+});
+
+function logIn() {
+  var username = document.getElementById('loginusername').value;
+  var password = document.getElementById('loginpassword').value;
+  if (!username || !password) {
+    alert('Please fill out Username and Password.');
+    return;
+  }
+  api('/login', {username: username, password: btoa(password)}, function (data) {
+    if (data && data.errorMessage) {
+      alert(data.errorMessage);
+      return;
+    }
+    setCookie('tokenp_', String(data).replace('Auth_token: ', ''));
+    hideModal('logInModal');
+    window.location.href = 'index.html';
+  });
+}
+
+function register() {
+  var username = document.getElementById('sign-username').value;
+  var password = document.getElementById('sign-password').value;
+  if (!username || !password) {
+    alert('Please fill out Username and Password.');
+    return;
+  }
+  api('/signup', {username: username, password: btoa(password)}, function (data) {
+    if (data && data.errorMessage) {
+      alert(data.errorMessage);
+      return;
+    }
+    alert('Sign up successful.');
+    hideModal('signInModal');
+  });
+}
+
+function logOut() {
+  deleteCookie('tokenp_');
+  window.location.href = 'index.html';
+}
+
+function showUser(username) {
+  var welcome = document.getElementById('nameofuser');
+  welcome.textContent = 'Welcome ' + username;
+  welcome.style.display = 'block';
+  document.getElementById('logout2').style.display = 'block';
+  document.getElementById('login2').style.display = 'none';
+  document.getElementById('signin2').style.display = 'none';
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+  if (!getCookie('user')) {
+    setCookie('user', uuid());
+  }
+  var token = getCookie('tokenp_');
+  if (token) {
+    api('/check', {token: token}, function (data) {
+      if (data && data.Item) {
+        showUser(data.Item.username);
+      }
+    });
+  }
+});
@@ -1,6 +1,6 @@
 package com.praktikum.testing.otomation.demo;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.praktikum.testing.otomation.utils.DriverResolver;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -26,7 +26,7 @@ public class AlertHandlingDemo {
 
     @BeforeMethod
     public void setup() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolver.setupChrome();
         driver = new ChromeDriver();
         driver.manage().window().maximize();
         // Demoblaze kadang lambat, jadi timeout lebih panjang
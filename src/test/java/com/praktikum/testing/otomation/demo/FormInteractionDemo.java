@@ -1,6 +1,6 @@
 package com.praktikum.testing.otomation.demo;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.praktikum.testing.otomation.utils.DriverResolver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -25,7 +25,7 @@ public class FormInteractionDemo {
 
     @BeforeMethod
     public void setup() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolver.setupChrome();
         driver = new ChromeDriver();
         driver.manage().window().maximize();
         wait = new WebDriverWait(driver, Duration.ofSeconds(15));
@@ -1,6 +1,6 @@
 package com.praktikum.testing.otomation.demo;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.praktikum.testing.otomation.utils.DriverResolver;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -24,7 +24,7 @@ public class JavaScriptExecutorDemo {
 
     @BeforeMethod
     public void setup() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolver.setupChrome();
         driver = new ChromeDriver();
         driver.manage().window().maximize();
         js = (JavascriptExecutor) driver;
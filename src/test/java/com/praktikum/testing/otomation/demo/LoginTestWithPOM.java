@@ -1,6 +1,6 @@
 package com.praktikum.testing.otomation.demo;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.praktikum.testing.otomation.utils.DriverResolver;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -21,7 +21,7 @@ public class LoginTestWithPOM {
 
     @BeforeMethod
     public void setup() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolver.setupChrome();
         driver = new ChromeDriver();
         driver.manage().window().maximize();
 
@@ -0,0 +1,48 @@
+package com.praktikum.testing.otomation.tests;
+
+import com.praktikum.testing.otomation.server.DemoblazeStandIn;
+import com.praktikum.testing.otomation.server.FaultProfile;
+import com.praktikum.testing.otomation.utils.ApiLoad;
+import com.praktikum.testing.otomation.utils.DemoblazeApi;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+// Capacity check without browsers: the EndToEndTest shopping journey as
+// backend calls, for thousands of shoppers against the local stand-in.
+// No BaseTest (no browser, no report); the stand-in is always started here,
+// the public site is never loaded this way.
+// Not part of testng.xml, run it on its own:
+//   mvn test -Dtest=ApiLoadTest -Dload.shoppers=2000 -Dload.inFlight=128
+// Slow or flaky backend: -Ddemoblaze.standin.profile=slow-3g | flaky
+public class ApiLoadTest {
+    private DemoblazeStandIn standIn;
+
+    @BeforeClass
+    public void startStandIn() {
+        standIn = DemoblazeStandIn.fromSystemProperties();
+        standIn.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStandIn() {
+        if (standIn != null) {
+            standIn.printStats();
+            standIn.stop();
+        }
+    }
+
+    @Test
+    public void testShoppingJourneyAtProtocolLevel() {
+        ApiLoad load = new ApiLoad(new DemoblazeApi(standIn.getBaseUrl())).run();
+        load.printReport();
+
+        Assert.assertTrue(load.getCompleted() > 0, "At least one journey should complete in the steady state");
+        // Injected faults are expected to fail journeys, only check the error rate without them
+        if (standIn.getProfile() == FaultProfile.NONE) {
+            Assert.assertTrue(load.getFailed() <= load.getCompleted() / 100,
+                    "More than 1% of the journeys failed");
+        }
+    }
+}
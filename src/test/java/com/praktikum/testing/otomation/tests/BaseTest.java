@@ -1,20 +1,55 @@
 package com.praktikum.testing.otomation.tests;
 
+import com.praktikum.testing.otomation.pages.BasePage;
+import com.praktikum.testing.otomation.server.DemoblazeStandIn;
+import com.praktikum.testing.otomation.server.FaultProfile;
+import com.praktikum.testing.otomation.utils.AdaptiveWait;
+import com.praktikum.testing.otomation.utils.CachingElementLocatorFactory;
+import com.praktikum.testing.otomation.utils.CartFixture;
+import com.praktikum.testing.otomation.utils.DriverPool;
+import com.praktikum.testing.otomation.utils.FallbackElement;
+import com.praktikum.testing.otomation.utils.ReportStream;
+import com.praktikum.testing.otomation.utils.ScreenshotRing;
+import com.praktikum.testing.otomation.utils.ScreenshotStore;
 import com.praktikum.testing.otomation.utils.ScreenshotUtil;
+import com.praktikum.testing.otomation.utils.SessionSeeder;
+import com.praktikum.testing.otomation.utils.SiteConfig;
 import com.praktikum.testing.otomation.utils.TestDataGenerator;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.praktikum.testing.otomation.utils.TestLog;
+import com.praktikum.testing.otomation.utils.TrafficRecorder;
+import com.praktikum.testing.otomation.utils.UserPool;
+import com.praktikum.testing.otomation.utils.WaitHelper;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import com.praktikum.testing.otomation.utils.ExtentReportManager;
 import org.testng.ITestResult;
+import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeSuite;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 
 public class BaseTest {
-    protected WebDriver driver;
+    // Page objects of the current thread, bound to its leased driver
+    private static final ThreadLocal<Map<Class<?>, BasePage>> pages =
+            ThreadLocal.withInitial(HashMap::new);
+
+    // Cart seeded through the API by the current test, emptied afterwards
+    private static final ThreadLocal<CartFixture> carts = new ThreadLocal<>();
+
+    // Local copy of the site, only with -Ddemoblaze.standin=true
+    private static DemoblazeStandIn standIn;
+
+    // Start browsers in the background while TestNG prepares the first test
+    @BeforeSuite
+    public void warmUpBrowsers() {
+        startStandIn();
+        DriverPool.warmUp();
+        ScreenshotStore.collectGarbage();
+    }
 
     @BeforeMethod
     public void setup(Method method) {
@@ -24,38 +59,66 @@ public class BaseTest {
         ExtentReportManager.getInstance();
         ExtentReportManager.createTest(method.getName());
 
-        // Setup WebDriver (tetap sama)
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
+        // Lease a warm browser from the pool (one per worker thread)
+        DriverPool.lease();
+        ScreenshotRing.reset();
 
         System.out.println("Browser: Chrome");
         System.out.println("Window maximized");
     }
 
-    @AfterMethod
+    // alwaysRun: also after a failed setup, so browser, user and seeded cart go back to their pools
+    @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
         // TAMBAH BARIS INI (2): Update status di Extent Report
+        TestLog test = ExtentReportManager.getTest();
         if (result.getStatus() == ITestResult.FAILURE) {
-            ExtentReportManager.getTest().fail("Test FAILED: " + result.getThrowable().getMessage());
+            if (test != null) {
+                test.fail("Test FAILED: " + result.getThrowable().getMessage());
+            }
 
-            // Take screenshot
-            String screenshotPath = ScreenshotUtil.takeScreenshot(driver,
-                    result.getName() + "_FAILED");
-            System.out.println("Test FAILED - Screenshot: " + screenshotPath);
+            if (getDriver() != null) {
+                // Take screenshot (written in the background, path is known already)
+                String screenshotPath = ScreenshotUtil.takeScreenshot(getDriver(),
+                        result.getName() + "_FAILED");
+                ExtentReportManager.attachScreenshot(screenshotPath);
+                System.out.println("Test FAILED - Screenshot: " + screenshotPath);
+            }
+
+            // Steps leading to the failure (only with -Dscreenshot.ring.size)
+            for (ScreenshotRing.Frame frame : ScreenshotRing.dump(result.getName())) {
+                ExtentReportManager.attachScreenshot(frame.file().toString(), "Before: " + frame.label());
+            }
 
         } else if (result.getStatus() == ITestResult.SUCCESS) {
-            ExtentReportManager.getTest().pass("Test PASSED ✓");
+            ScreenshotRing.reset();
+            if (test != null) {
+                test.pass("Test PASSED ✓");
+            }
             System.out.println("Test PASSED ✓");
         } else {
-            ExtentReportManager.getTest().skip("Test SKIPPED");
+            ScreenshotRing.reset();
+            if (test != null) {
+                test.skip("Test SKIPPED");
+            }
             System.out.println("Test SKIPPED");
         }
 
-        // Close browser
-        if (driver != null) {
-            driver.quit();
-            System.out.println("Browser closed");
+        // Add the finished test to the report
+        ExtentReportManager.endTest();
+
+        // Return browser and test account to their pools (session is reset for the next test)
+        pages.remove();
+        CartFixture cart = carts.get();
+        if (cart != null) {
+            carts.remove();
+            cart.clear();
+        }
+        UserPool.release();
+        if (getDriver() != null) {
+            TrafficRecorder.harvest(getDriver());
+            DriverPool.release();
+            System.out.println("Browser returned to pool");
         }
 
         System.out.println("=== Test finished ===\n");
@@ -65,25 +128,130 @@ public class BaseTest {
     @AfterSuite
     public void cleanupSuite() {
         // Cek apakah report sudah di-flush sebelumnya
-        if (ExtentReportManager.getInstance() != null) {
+        // Screenshots must be on disk before the report links them
+        ScreenshotUtil.awaitPending();
+        if (ExtentReportManager.flush()) {
+            System.out.println("Results streamed to: " + ReportStream.getFile()
+                    + " (" + ReportStream.getWrittenCount() + " test(s))");
+            System.out.println("Report saved to: test-output/ExtentReport.html");
+            System.out.println("Open: file://" + System.getProperty("user.dir") + "/test-output/ExtentReport.html");
+        }
+
+        DriverPool.printStats();
+        CachingElementLocatorFactory.printStats();
+        FallbackElement.printStats();
+        ScreenshotStore.printStats();
+        AdaptiveWait.printHistograms();
+        AdaptiveWait.saveStats();
+        TrafficRecorder.save();
+        DriverPool.shutdown();
+        if (standIn != null) {
+            standIn.printStats();
+            standIn.stop();
+        }
+    }
+
+    // Run against the in-process stand-in instead of www.demoblaze.com
+    // (offline, loopback latency). Its accounts are kept in their own pool file.
+    private static synchronized void startStandIn() {
+        if (!Boolean.getBoolean("demoblaze.standin") || standIn != null) {
+            return;
+        }
+        if (System.getProperty("user.pool.file") == null) {
+            System.setProperty("user.pool.file", "test-data/user-pool-standin.properties");
+        }
+        standIn = DemoblazeStandIn.fromSystemProperties();
+        String baseUrl = standIn.start();
+        SiteConfig.use(baseUrl + "/", baseUrl);
+    }
+
+    // Driver leased by the current test thread
+    protected WebDriver getDriver() {
+        return DriverPool.current();
+    }
+
+    // Page object for the current thread, created once per test
+    protected <T extends BasePage> T page(Class<T> type) {
+        BasePage page = pages.get().computeIfAbsent(type, key -> {
             try {
-                ExtentReportManager.getInstance().flush();
-                System.out.println("Report saved to: test-output/ExtentReport.html");
-                System.out.println("Open: file://" + System.getProperty("user.dir") + "/test-output/ExtentReport.html");
-            } catch (Exception e) {
-                System.out.println("⚠ Report already flushed");
+                return type.getConstructor(WebDriver.class).newInstance(getDriver());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create page " + type.getSimpleName(), e);
             }
-        }
+        });
+        return type.cast(page);
+    }
+
+    // Condition waits for the current driver
+    protected WaitHelper waitHelper() {
+        return new WaitHelper(getDriver());
     }
+
     // Helper method to get test data
     protected TestDataGenerator.TestUser getTestUser() {
         return TestDataGenerator.getNewTestUser();
     }
 
+    // Registered account for this test, not shared with other running tests
+    protected TestDataGenerator.TestUser leaseUser() {
+        try {
+            return UserPool.lease();
+        } catch (IllegalStateException e) {
+            throw new SkipException("No test user available: " + e.getMessage());
+        }
+    }
+
+    // Start the test already logged in, without the login form
+    // (for tests that are not about login itself)
+    protected TestDataGenerator.TestUser loginViaApi() {
+        TestDataGenerator.TestUser user = leaseUser();
+        try {
+            SessionSeeder.loginAs(getDriver(), user);
+        } catch (IllegalStateException e) {
+            throw new SkipException("API login failed: " + e.getMessage());
+        }
+        goToDemoblaze();
+        logToReport("Logged in via API as " + user.username);
+        return user;
+    }
+
+    // Anonymous cart with the given products, filled through the API
+    protected CartFixture seedCart(int... productIds) {
+        CartFixture previous = carts.get();
+        if (previous != null) {
+            // Left over from a test whose teardown did not get to it
+            carts.remove();
+            previous.clear();
+        }
+        try {
+            CartFixture cart = CartFixture.anonymous(getDriver()).add(productIds);
+            carts.set(cart);
+            return cart;
+        } catch (RuntimeException e) {
+            throw new SkipException("Cannot seed cart: " + e.getMessage());
+        }
+    }
+
+    // Slow down / break the stand-in's responses (needs -Ddemoblaze.standin=true)
+    protected void useFaultProfile(FaultProfile profile) {
+        if (standIn == null) {
+            throw new SkipException("Fault profiles need the local stand-in (-Ddemoblaze.standin=true)");
+        }
+        standIn.setProfile(profile);
+    }
+
+    // Back to the profile the suite was started with
+    protected void resetFaultProfile() {
+        if (standIn != null) {
+            standIn.setProfile(FaultProfile.fromSystemProperties());
+        }
+    }
+
     // Navigate to Demoblaze - TAMBAH LOGGING KE REPORT (4)
     protected void goToDemoblaze() {
-        driver.get("https://www.demoblaze.com/");
-        System.out.println("Navigated to: https://www.demoblaze.com/");
+        CachingElementLocatorFactory.nextGeneration(getDriver());
+        getDriver().get(SiteConfig.siteUrl());
+        System.out.println("Navigated to: " + SiteConfig.siteUrl());
 
         // TAMBAH BARIS INI: Log ke Extent Report
         ExtentReportManager.getTest().info("Navigated to Demoblaze homepage");
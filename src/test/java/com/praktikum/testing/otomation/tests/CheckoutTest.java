@@ -2,58 +2,48 @@ package com.praktikum.testing.otomation.tests;
 
 import com.praktikum.testing.otomation.pages.CartPage;
 import com.praktikum.testing.otomation.pages.CheckoutModal;
-import com.praktikum.testing.otomation.pages.ProductPage;
+import com.praktikum.testing.otomation.utils.CartFixture;
+import com.praktikum.testing.otomation.utils.ExtentReportManager;
 import com.praktikum.testing.otomation.utils.ScreenshotUtil;
 import com.praktikum.testing.otomation.utils.TestDataGenerator;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.lang.reflect.Method;
-
 public class CheckoutTest extends BaseTest {
-    private ProductPage productPage;
-    private CartPage cartPage;
-    private CheckoutModal checkoutModal;
-
-    @BeforeMethod
-    public void setup(Method method) {
-        super.setup(method);
+    private CartPage cartPage() {
+        return page(CartPage.class);
+    }
 
-        productPage = new ProductPage(driver);
-        cartPage = new CartPage(driver);
-        checkoutModal = new CheckoutModal(driver);
+    private CheckoutModal checkoutModal() {
+        return page(CheckoutModal.class);
+    }
 
-        goToDemoblaze();
+    // Cart diisi lewat API, test mulai langsung di cart.html
+    // (di dalam test, bukan setup: gagal seed hanya menggagalkan test ini)
+    private void openSeededCart() {
+        seedCart(CartFixture.SAMSUNG_GALAXY_S6);
+        cartPage().navigateToCart();
+        cartPage().waitForItems(1);
     }
 
     @Test(priority = 1)
     public void testCheckoutModalOpens() {
         System.out.println("\n=== TEST: Checkout Modal Opens ===");
+        openSeededCart();
 
-        // First, add item to cart
         try {
-            driver.findElement(
-                    org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
-            ).click();
-            Thread.sleep(3000);
-            productPage.addToCart();
-
-            // Go to cart
-            productPage.goToCart();
-
             // Click place order
-            cartPage.clickPlaceOrder();
+            cartPage().clickPlaceOrder();
 
             // Verify modal opens
-            Thread.sleep(2000);
-            boolean modalOpened = checkoutModal.isModalDisplayed();
+            checkoutModal().waitForModal();
+            boolean modalOpened = checkoutModal().isModalDisplayed();
             System.out.println("Checkout modal opened: " + modalOpened);
 
             if (modalOpened) {
-                checkoutModal.clickClose();
+                checkoutModal().clickClose();
                 System.out.println("✓ Modal opened and closed successfully");
             }
 
@@ -67,35 +57,29 @@ public class CheckoutTest extends BaseTest {
     @Test(priority = 2)
     public void testCheckoutFormValidation() {
         System.out.println("\n=== TEST: Checkout Form Validation ===");
+        openSeededCart();
 
         try {
-            // Setup: Add item and go to checkout
-            driver.findElement(
-                    org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
-            ).click();
-            Thread.sleep(3000);
-            productPage.addToCart();
-            productPage.goToCart();
-            cartPage.clickPlaceOrder();
+            // Cart seeded, go to checkout
+            cartPage().clickPlaceOrder();
 
             // Wait for modal
-            Thread.sleep(2000);
+            checkoutModal().waitForModal();
 
             // Try to purchase with empty form
-            checkoutModal.clickPurchase();
+            checkoutModal().clickPurchase();
 
             // Handle any alerts
             try {
-                Thread.sleep(1000);
-                String alertText = driver.switchTo().alert().getText();
+                String alertText = waitHelper().waitForAlert().getText();
                 System.out.println("Empty form alert: " + alertText);
-                driver.switchTo().alert().accept();
+                getDriver().switchTo().alert().accept();
             } catch (Exception e) {
                 System.out.println("No alert for empty form");
             }
 
             // Close modal
-            checkoutModal.clickClose();
+            checkoutModal().clickClose();
 
         } catch (Exception e) {
             System.out.println("Error in form validation: " + e.getMessage());
@@ -107,22 +91,15 @@ public class CheckoutTest extends BaseTest {
     @Test(priority = 3)
     public void testCompleteCheckoutProcess() {
         System.out.println("\n=== TEST: Complete Checkout Process ===");
+        openSeededCart();
 
         try {
-            // Setup: Add item to cart
-            driver.findElement(
-                    org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
-            ).click();
-            Thread.sleep(3000);
-            productPage.addToCart();
-            productPage.goToCart();
-
             // Click place order
-            cartPage.clickPlaceOrder();
-            Thread.sleep(2000);
+            cartPage().clickPlaceOrder();
+            checkoutModal().waitForModal();
 
             // Fill checkout form
-            checkoutModal.fillCheckoutForm(
+            checkoutModal().fillCheckoutForm(
                     "John Doe",
                     "United States",
                     "New York",
@@ -132,18 +109,18 @@ public class CheckoutTest extends BaseTest {
             );
 
             // Click purchase
-            checkoutModal.clickPurchase();
+            checkoutModal().clickPurchase();
 
             // Wait for success
-            Thread.sleep(3000);
+            checkoutModal().waitForPurchaseResult();
 
             // Check if successful
-            boolean success = checkoutModal.isCheckoutSuccessful();
+            boolean success = checkoutModal().isCheckoutSuccessful();
             System.out.println("Checkout successful: " + success);
 
             if (success) {
-                checkoutModal.printOrderSummary();
-                checkoutModal.clickOk();
+                checkoutModal().printOrderSummary();
+                checkoutModal().clickOk();
                 System.out.println("✓ Checkout process completed successfully");
             } else {
                 System.out.println("Checkout might have failed or pending");
@@ -151,7 +128,7 @@ public class CheckoutTest extends BaseTest {
 
         } catch (Exception e) {
             System.out.println("Error in checkout process: " + e.getMessage());
-            ScreenshotUtil.takeScreenshot(driver, "checkout_error");
+            ScreenshotUtil.takeScreenshot(getDriver(), "checkout_error");
         }
 
         System.out.println("✓ Complete checkout test completed");
@@ -168,14 +145,15 @@ public class CheckoutTest extends BaseTest {
     }
 
     @Test(priority = 5, enabled = true)
-    public void testCheckoutWithNonNumericCreditCard() throws InterruptedException {
+    public void testCheckoutWithNonNumericCreditCard() {
         System.out.println("\n=== TEST: Credit Card Numeric Validation ===");
+        openSeededCart();
 
         // Open Place Order modal
-        driver.findElement(By.xpath("//button[text()='Place Order']")).click();
-        Thread.sleep(2000);
+        getDriver().findElement(By.xpath("//button[text()='Place Order']")).click();
+        waitHelper().waitForModalShown("orderModal");
 
-        WebElement creditCardField = driver.findElement(By.id("card"));
+        WebElement creditCardField = getDriver().findElement(By.id("card"));
 
         // Test data non-numeric
         String invalidCardNumber = "abcd1234!@#";
@@ -184,14 +162,16 @@ public class CheckoutTest extends BaseTest {
         creditCardField.sendKeys(invalidCardNumber);
 
         // Click Purchase
-        driver.findElement(By.xpath("//button[text()='Purchase']")).click();
-        Thread.sleep(2000);
+        getDriver().findElement(By.xpath("//button[text()='Purchase']")).click();
+        checkoutModal().waitForPurchaseResult();
 
         // Demoblaze behavior: order STILL SUCCESS (BUG)
-        WebElement successPopup = driver.findElement(By.className("sweet-alert"));
+        WebElement successPopup = getDriver().findElement(By.className("sweet-alert"));
 
         if (successPopup.isDisplayed()) {
             System.out.println(" BUG FOUND: Non-numeric credit card accepted!");
+            ExtentReportManager.attachScreenshot(
+                    checkoutModal().takeSuccessScreenshot("non_numeric_card_accepted"), "Order accepted");
             Assert.fail("Credit Card field accepts non-numeric values");
         } else {
             System.out.println("✓ Credit Card numeric validation works");
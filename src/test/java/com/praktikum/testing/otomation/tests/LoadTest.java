@@ -0,0 +1,64 @@
+package com.praktikum.testing.otomation.tests;
+
+import com.praktikum.testing.otomation.pages.CartPage;
+import com.praktikum.testing.otomation.pages.CheckoutModal;
+import com.praktikum.testing.otomation.pages.HomePage;
+import com.praktikum.testing.otomation.pages.ProductPage;
+import com.praktikum.testing.otomation.utils.DriverPool;
+import com.praktikum.testing.otomation.utils.VirtualUserLoad;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+// Capacity check: the shopping journey of EndToEndTest as concurrent virtual users.
+// Not part of testng.xml, run it on its own (best against the local stand-in):
+//   mvn test -Dtest=LoadTest -Ddemoblaze.standin=true -Dload.users=8 -Ddriver.pool.size=4
+// Users, ramp-up, steady state and think time: see VirtualUserLoad.
+public class LoadTest extends BaseTest {
+
+    // Home -> product -> add to cart -> cart -> checkout, one browser session per journey
+    private static void shoppingJourney(WebDriver driver, VirtualUserLoad.Steps steps) {
+        HomePage homePage = new HomePage(driver);
+        ProductPage productPage = new ProductPage(driver);
+        CartPage cartPage = new CartPage(driver);
+        CheckoutModal checkoutModal = new CheckoutModal(driver);
+
+        steps.step("home", () -> {
+            homePage.navigateToHome();
+            homePage.waitForProducts();
+        });
+        steps.step("product", () -> {
+            homePage.selectProductByName("Samsung galaxy s6");
+            productPage.waitForPageLoad();
+        });
+        steps.step("add to cart", productPage::addToCart);
+        steps.step("cart", () -> {
+            productPage.goToCart();
+            cartPage.waitForItems(1);
+        });
+        steps.step("checkout", () -> {
+            cartPage.clickPlaceOrder();
+            checkoutModal.completeCheckout("John Doe", "United States", "New York",
+                    "4111111111111111", "12", "2025");
+            if (!checkoutModal.isCheckoutSuccessful()) {
+                throw new IllegalStateException("Purchase not confirmed");
+            }
+        });
+    }
+
+    @Test
+    public void testShoppingJourneyUnderLoad() {
+        // Virtual users lease their own browsers, do not keep one for the test thread
+        DriverPool.release();
+
+        VirtualUserLoad load = new VirtualUserLoad("shopping journey", LoadTest::shoppingJourney).run();
+        load.printReport();
+        DriverPool.printStats();
+
+        logToReport(String.format("Load: %d journeys completed, %d failed, %.1f journeys/min",
+                load.getCompleted(), load.getFailed(), load.getThroughputPerMinute()));
+        Assert.assertTrue(load.getCompleted() > 0, "At least one journey should complete in the steady state");
+        Assert.assertTrue(load.getFailed() <= load.getCompleted() / 10,
+                "More than 10% of the journeys failed");
+    }
+}
@@ -9,24 +9,22 @@ import org.testng.annotations.Test;
 import java.lang.reflect.Method;
 
 public class ProductTest extends BaseTest {
-    private HomePage homePage;
-    private ProductPage productPage;
+    private HomePage homePage() {
+        return page(HomePage.class);
+    }
+
+    private ProductPage productPage() {
+        return page(ProductPage.class);
+    }
 
     @BeforeMethod
     public void setup(Method method) {
         super.setup(method);
 
-        homePage = new HomePage(driver);
-        productPage = new ProductPage(driver);
-
         goToDemoblaze();
 
         // Tunggu page load
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        waitHelper().waitForProducts();
     }
 
     @Test(priority = 1)
@@ -34,12 +32,12 @@ public class ProductTest extends BaseTest {
         System.out.println("\n=== TEST: Home Page Elements ===");
 
         // Basic verification
-        Assert.assertTrue(driver.getTitle().contains("STORE"),
+        Assert.assertTrue(getDriver().getTitle().contains("STORE"),
                 "Title should contain STORE");
 
         // Check navigation elements
-        System.out.println("Title: " + driver.getTitle());
-        System.out.println("URL: " + driver.getCurrentUrl());
+        System.out.println("Title: " + getDriver().getTitle());
+        System.out.println("URL: " + getDriver().getCurrentUrl());
 
         System.out.println("✓ Home page elements test PASSED");
     }
@@ -51,25 +49,25 @@ public class ProductTest extends BaseTest {
         // Try to find and click a product
         try {
             // Cari link produk dengan href mengandung 'prod.html'
-            driver.findElement(
+            getDriver().findElement(
                     org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
             ).click();
 
             System.out.println("Clicked product link");
 
             // Wait for navigation
-            Thread.sleep(3000);
+            productPage().waitForPageLoad();
 
             // Check if we're on product page
-            String currentUrl = driver.getCurrentUrl();
+            String currentUrl = getDriver().getCurrentUrl();
             System.out.println("Current URL: " + currentUrl);
 
             if (currentUrl.contains("prod.html")) {
                 System.out.println("✓ Successfully navigated to product page");
 
                 // Get product info
-                String productName = productPage.getProductName();
-                String productPrice = productPage.getProductPrice();
+                String productName = productPage().getProductName();
+                String productPrice = productPage().getProductPrice();
 
                 System.out.println("Product: " + productName);
                 System.out.println("Price: " + productPrice);
@@ -92,19 +90,19 @@ public class ProductTest extends BaseTest {
 
         try {
             // Navigate to a product
-            driver.findElement(
+            getDriver().findElement(
                     org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
             ).click();
 
-            Thread.sleep(3000);
+            productPage().waitForPageLoad();
 
             // Try to add to cart
-            productPage.addToCart();
+            productPage().addToCart();
             System.out.println("✓ Attempted to add product to cart");
 
             // Go back to home
-            driver.navigate().back();
-            Thread.sleep(2000);
+            getDriver().navigate().back();
+            waitHelper().waitForProducts();
 
         } catch (Exception e) {
             System.out.println("Error in add to cart test: " + e.getMessage());
@@ -119,21 +117,21 @@ public class ProductTest extends BaseTest {
 
         try {
             // Go to product page
-            driver.findElement(
+            getDriver().findElement(
                     org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
             ).click();
 
-            Thread.sleep(3000);
+            productPage().waitForPageLoad();
 
             // Check elements
-            boolean hasAddButton = productPage.isAddToCartButtonDisplayed();
+            boolean hasAddButton = productPage().isAddToCartButtonDisplayed();
             System.out.println("Add to cart button displayed: " + hasAddButton);
 
-            String productName = productPage.getProductName();
+            String productName = productPage().getProductName();
             System.out.println("Product name retrieved: " + productName);
 
             // Go back
-            driver.navigate().back();
+            getDriver().navigate().back();
 
         } catch (Exception e) {
             System.out.println("Error checking product page: " + e.getMessage());
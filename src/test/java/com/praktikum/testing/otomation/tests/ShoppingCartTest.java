@@ -2,6 +2,8 @@ package com.praktikum.testing.otomation.tests;
 
 import com.praktikum.testing.otomation.pages.CartPage;
 import com.praktikum.testing.otomation.pages.ProductPage;
+import com.praktikum.testing.otomation.utils.CartFixture;
+import com.praktikum.testing.otomation.utils.SiteConfig;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -9,24 +11,22 @@ import org.testng.annotations.Test;
 import java.lang.reflect.Method;
 
 public class ShoppingCartTest extends BaseTest {
-    private ProductPage productPage;
-    private CartPage cartPage;
+    private ProductPage productPage() {
+        return page(ProductPage.class);
+    }
+
+    private CartPage cartPage() {
+        return page(CartPage.class);
+    }
 
     @BeforeMethod
     public void setup(Method method) {
         super.setup(method);
 
-        productPage = new ProductPage(driver);
-        cartPage = new CartPage(driver);
-
         goToDemoblaze();
 
         // Tunggu page load
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        waitHelper().waitForProducts();
     }
 
     @Test(priority = 1)
@@ -34,13 +34,13 @@ public class ShoppingCartTest extends BaseTest {
         System.out.println("\n=== TEST: Cart Page Access ===");
 
         // Navigate directly to cart
-        cartPage.navigateToCart();
+        cartPage().navigateToCart();
 
         // Verify cart page loads
-        Assert.assertTrue(cartPage.isOnCartPage(),
+        Assert.assertTrue(cartPage().isOnCartPage(),
                 "Should be on cart page");
 
-        cartPage.printCartStatus();
+        cartPage().printCartStatus();
 
         System.out.println("✓ Cart page access test PASSED");
     }
@@ -51,33 +51,33 @@ public class ShoppingCartTest extends BaseTest {
 
         try {
             // First, go to cart and check if empty
-            cartPage.navigateToCart();
-            boolean initiallyEmpty = cartPage.isCartEmpty();
+            cartPage().navigateToCart();
+            boolean initiallyEmpty = cartPage().isCartEmpty();
             System.out.println("Cart initially empty: " + initiallyEmpty);
 
             // Go to home and add product
-            driver.get("https://www.demoblaze.com/");
-            Thread.sleep(2000);
+            getDriver().get(SiteConfig.siteUrl());
+            waitHelper().waitForProducts();
 
             // Click on a product
-            driver.findElement(
+            getDriver().findElement(
                     org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
             ).click();
 
-            Thread.sleep(3000);
+            productPage().waitForPageLoad();
 
             // Add to cart
-            productPage.addToCart();
+            productPage().addToCart();
             System.out.println("✓ Product added to cart");
 
             // Go to cart to verify
-            productPage.goToCart();
+            productPage().goToCart();
 
             // Check cart status
-            cartPage.printCartStatus();
+            cartPage().printCartStatus();
 
             // Go back to home
-            driver.get("https://www.demoblaze.com/");
+            getDriver().get(SiteConfig.siteUrl());
 
         } catch (Exception e) {
             System.out.println("Error in cart test: " + e.getMessage());
@@ -92,23 +92,23 @@ public class ShoppingCartTest extends BaseTest {
 
         try {
             // Test going to cart from product page
-            driver.findElement(
+            getDriver().findElement(
                     org.openqa.selenium.By.cssSelector("a[href*='prod.html']")
             ).click();
 
-            Thread.sleep(3000);
+            productPage().waitForPageLoad();
 
             // Try goToCart method
-            productPage.goToCart();
+            productPage().goToCart();
             System.out.println("✓ Used goToCart() method");
 
             // Verify on cart page
-            Assert.assertTrue(driver.getCurrentUrl().contains("cart.html") ||
-                            cartPage.isOnCartPage(),
+            Assert.assertTrue(getDriver().getCurrentUrl().contains("cart.html") ||
+                            cartPage().isOnCartPage(),
                     "Should be on cart page after goToCart()");
 
             // Go back to home
-            driver.get("https://www.demoblaze.com/");
+            getDriver().get(SiteConfig.siteUrl());
 
         } catch (Exception e) {
             System.out.println("Error in cart navigation: " + e.getMessage());
@@ -116,4 +116,21 @@ public class ShoppingCartTest extends BaseTest {
 
         System.out.println("✓ Cart navigation test completed");
     }
-}
\ No newline at end of file
+
+    @Test(priority = 4)
+    public void testSeededCartContents() {
+        System.out.println("\n=== TEST: Seeded Cart Contents ===");
+
+        // Dua produk lewat API, tanpa klik product page
+        seedCart(CartFixture.SAMSUNG_GALAXY_S6, CartFixture.NOKIA_LUMIA_1520);
+
+        cartPage().navigateToCart();
+        cartPage().waitForItems(2);
+
+        Assert.assertEquals(cartPage().getCartItemCount(), 2,
+                "Cart should contain the two seeded products");
+        cartPage().printCartStatus();
+
+        System.out.println("✓ Seeded cart test PASSED");
+    }
+}
@@ -0,0 +1,76 @@
+package com.praktikum.testing.otomation.tests;
+
+import com.praktikum.testing.otomation.pages.CartPage;
+import com.praktikum.testing.otomation.pages.HomePage;
+import com.praktikum.testing.otomation.pages.ProductPage;
+import com.praktikum.testing.otomation.server.FaultProfile;
+import com.praktikum.testing.otomation.utils.CartFixture;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+// Page objects against a slow backend (local stand-in only).
+// The wait histograms printed after the suite show how close each wait
+// came to its timeout under this profile.
+//   -Dslow.profile  stand-in fault profile (default slow-3g)
+public class SlowNetworkTest extends BaseTest {
+    private HomePage homePage() {
+        return page(HomePage.class);
+    }
+
+    private ProductPage productPage() {
+        return page(ProductPage.class);
+    }
+
+    private CartPage cartPage() {
+        return page(CartPage.class);
+    }
+
+    @BeforeClass
+    public void slowDownNetwork() {
+        useFaultProfile(FaultProfile.load(System.getProperty("slow.profile", "slow-3g"),
+                Long.getLong("demoblaze.standin.seed", 42L)));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreNetwork() {
+        resetFaultProfile();
+    }
+
+    @Test(priority = 1)
+    public void testHomePageOnSlowNetwork() {
+        System.out.println("\n=== TEST: Home Page on Slow Network ===");
+
+        homePage().navigateToHome();
+        homePage().waitForProducts();
+
+        Assert.assertEquals(homePage().getProductCount(), 9, "First page should show 9 products");
+        System.out.println("✓ Home page loaded on slow network");
+    }
+
+    @Test(priority = 2)
+    public void testProductPageOnSlowNetwork() {
+        System.out.println("\n=== TEST: Product Page on Slow Network ===");
+
+        homePage().navigateToHome();
+        homePage().waitForProducts();
+        homePage().selectProductByName("Nexus 6");
+        productPage().waitForPageLoad();
+
+        Assert.assertEquals(productPage().getProductName(), "Nexus 6");
+        System.out.println("✓ Product page loaded on slow network");
+    }
+
+    @Test(priority = 3)
+    public void testCartOnSlowNetwork() {
+        System.out.println("\n=== TEST: Cart on Slow Network ===");
+
+        seedCart(CartFixture.SAMSUNG_GALAXY_S6, CartFixture.NEXUS_6);
+        cartPage().navigateToCart();
+        cartPage().waitForItems(2);
+
+        Assert.assertEquals(cartPage().getCartItemCount(), 2, "Cart should show both seeded products");
+        System.out.println("✓ Cart loaded on slow network");
+    }
+}
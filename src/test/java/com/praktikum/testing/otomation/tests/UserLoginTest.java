@@ -3,6 +3,7 @@ package com.praktikum.testing.otomation.tests;
 import com.praktikum.testing.otomation.pages.HomePage;
 import com.praktikum.testing.otomation.pages.LoginModal;
 import org.openqa.selenium.By;
+import com.praktikum.testing.otomation.utils.TestDataGenerator;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -11,18 +12,19 @@ import org.testng.annotations.Test;
 import java.lang.reflect.Method;
 
 public class UserLoginTest extends BaseTest {
-    private HomePage homePage;
-    private LoginModal loginModal;
+    private HomePage homePage() {
+        return page(HomePage.class);
+    }
+
+    private LoginModal loginModal() {
+        return page(LoginModal.class);
+    }
 
     @BeforeMethod
     public void testSetup(Method method) {
         // Call parent setup
         super.setup(method);
 
-        // Initialize page objects
-        homePage = new HomePage(driver);
-        loginModal = new LoginModal(driver);
-
         // Navigate to Demoblaze
         goToDemoblaze();
     }
@@ -32,20 +34,20 @@ public class UserLoginTest extends BaseTest {
         System.out.println("=== TEST: Login Modal Opens ===");
 
         // Click login link
-        homePage.clickLogin();
+        homePage().clickLogin();
 
         // Verify modal opens
-        Assert.assertTrue(loginModal.isModalDisplayed(),
+        Assert.assertTrue(loginModal().isModalDisplayed(),
                 "Login modal should be displayed");
 
         // Verify modal title
-        String modalTitle = loginModal.getModalTitle();
+        String modalTitle = loginModal().getModalTitle();
         System.out.println("Modal title: " + modalTitle);
         Assert.assertTrue(modalTitle.contains("Log in"),
                 "Modal title should contain 'Log in'");
 
         // Close modal
-        loginModal.clickClose();
+        loginModal().clickClose();
 
         System.out.println("✓ Login modal test PASSED");
     }
@@ -54,60 +56,59 @@ public class UserLoginTest extends BaseTest {
     public void testLoginWithInvalidCredentials() {
         System.out.println("\n=== TEST: Login with Invalid Credentials ===");
 
-        homePage.clickLogin();
+        homePage().clickLogin();
 
         // Enter invalid credentials
-        loginModal.login("invalid_user_12345", "wrong_password_12345");
+        loginModal().login("invalid_user_12345", "wrong_password_12345");
 
         // Handle alert (invalid login shows alert)
         String alertText = "";
         try {
-            Thread.sleep(2000); // Wait for alert
-            alertText = driver.switchTo().alert().getText();
-            driver.switchTo().alert().accept();
+            alertText = waitHelper().waitForAlert().getText();
+            getDriver().switchTo().alert().accept();
             System.out.println("Alert text: " + alertText);
         } catch (Exception e) {
             System.out.println("No alert or error: " + e.getMessage());
         }
 
         // User should not be logged in
-        Assert.assertFalse(homePage.isUserLoggedIn(),
+        Assert.assertFalse(homePage().isUserLoggedIn(),
                 "User should not be logged in with invalid credentials");
 
         System.out.println("✓ Invalid login test PASSED");
     }
 
-    @Test(priority = 3, enabled = false) // Disable dulu, butuh valid credentials
+    @Test(priority = 3)
     public void testLoginWithValidCredentials() {
         System.out.println("\n=== TEST: Login with Valid Credentials ===");
 
-        // NOTE: Need to create an account first or use existing
-        String validUsername = "testuser123";
-        String validPassword = "testpass123";
+        // Akun terdaftar dari user pool (dibuat lewat API)
+        TestDataGenerator.TestUser user = leaseUser();
+        String validUsername = user.username;
+        String validPassword = user.password;
 
-        homePage.clickLogin();
+        homePage().clickLogin();
 
-        loginModal.login(validUsername, validPassword);
+        loginModal().login(validUsername, validPassword);
 
-        // Handle successful login alert
+        // Handle login alert if any (login() already waited for the result)
         try {
-            Thread.sleep(2000);
-            String alertText = driver.switchTo().alert().getText();
+            String alertText = getDriver().switchTo().alert().getText();
             System.out.println("Login alert: " + alertText);
-            driver.switchTo().alert().accept();
+            getDriver().switchTo().alert().accept();
         } catch (Exception e) {
             System.out.println("No alert or error: " + e.getMessage());
         }
 
         // Verify user is logged in
-        Assert.assertTrue(homePage.isUserLoggedIn(),
+        Assert.assertTrue(homePage().isUserLoggedIn(),
                 "User should be logged in with valid credentials");
 
-        String welcomeMsg = homePage.getWelcomeMessage();
+        String welcomeMsg = homePage().getWelcomeMessage();
         System.out.println("Welcome message: " + welcomeMsg);
 
         // Logout
-        homePage.logout();
+        homePage().logout();
 
         System.out.println("✓ Valid login test PASSED");
     }
@@ -116,39 +117,37 @@ public class UserLoginTest extends BaseTest {
     public void testLoginFormValidation() {
         System.out.println("\n=== TEST: Login Form Validation ===");
 
-        homePage.clickLogin();
+        homePage().clickLogin();
 
         // Test 1: Empty username
-        loginModal.enterUsername("");
-        loginModal.enterPassword("somepassword");
-        loginModal.clickLogin();
+        loginModal().enterUsername("");
+        loginModal().enterPassword("somepassword");
+        loginModal().clickLogin();
 
         // Should show alert for empty field
         try {
-            Thread.sleep(1000);
-            String alertText = driver.switchTo().alert().getText();
-            driver.switchTo().alert().accept();
+            String alertText = waitHelper().waitForAlert().getText();
+            getDriver().switchTo().alert().accept();
             System.out.println("Empty username alert: " + alertText);
         } catch (Exception e) {
             System.out.println("No alert for empty username");
         }
 
         // Test 2: Empty password
-        loginModal.clearForm();
-        loginModal.enterUsername("someuser");
-        loginModal.enterPassword("");
-        loginModal.clickLogin();
+        loginModal().clearForm();
+        loginModal().enterUsername("someuser");
+        loginModal().enterPassword("");
+        loginModal().clickLogin();
 
         try {
-            Thread.sleep(1000);
-            String alertText = driver.switchTo().alert().getText();
-            driver.switchTo().alert().accept();
+            String alertText = waitHelper().waitForAlert().getText();
+            getDriver().switchTo().alert().accept();
             System.out.println("Empty password alert: " + alertText);
         } catch (Exception e) {
             System.out.println("No alert for empty password");
         }
 
-        loginModal.clickClose();
+        loginModal().clickClose();
 
         System.out.println("✓ Form validation test PASSED");
     }
@@ -158,29 +157,22 @@ public class UserLoginTest extends BaseTest {
         System.out.println("\n=== TEST: Login and Logout Flow ===");
 
         // First verify not logged in
-        Assert.assertFalse(homePage.isUserLoggedIn(),
+        Assert.assertFalse(homePage().isUserLoggedIn(),
                 "Should not be logged in initially");
 
         // Open login modal
-        homePage.clickLogin();
-        Assert.assertTrue(loginModal.isModalDisplayed(), "Modal should open");
+        homePage().clickLogin();
+        Assert.assertTrue(loginModal().isModalDisplayed(), "Modal should open");
         System.out.println("✓ Login modal opened");
 
-        // Close modal without login
-        loginModal.clickClose();
-
-        // Tunggu modal tertutup
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        // Close modal without login (clickClose waits until it is hidden)
+        loginModal().clickClose();
 
         // Cek dengan cara berbeda apakah modal sudah tertutup
         boolean modalStillOpen = false;
         try {
             // Coba cari element modal, jika tidak ditemukan berarti sudah tertutup
-            modalStillOpen = loginModal.isModalDisplayed();
+            modalStillOpen = loginModal().isModalDisplayed();
         } catch (Exception e) {
             modalStillOpen = false;
         }
@@ -193,7 +185,7 @@ public class UserLoginTest extends BaseTest {
             System.out.println("Note: Modal might take time to close. Continuing test...");
             // Try to close again
             try {
-                driver.findElement(By.xpath("//button[text()='Close']")).click();
+                getDriver().findElement(By.xpath("//button[text()='Close']")).click();
             } catch (Exception e) {
                 // Ignore
             }
@@ -2,6 +2,7 @@ package com.praktikum.testing.otomation.tests;
 
 import com.praktikum.testing.otomation.pages.HomePage;
 import com.praktikum.testing.otomation.pages.SignupModal;
+import com.praktikum.testing.otomation.utils.TestDataGenerator;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -9,16 +10,18 @@ import org.testng.annotations.Test;
 import java.lang.reflect.Method;
 
 public class UserRegistrationTest extends BaseTest {
-    private HomePage homePage;
-    private SignupModal signupModal;
+    private HomePage homePage() {
+        return page(HomePage.class);
+    }
+
+    private SignupModal signupModal() {
+        return page(SignupModal.class);
+    }
 
     @BeforeMethod
     public void setup(Method method) {
         super.setup(method);
 
-        homePage = new HomePage(driver);
-        signupModal = new SignupModal(driver);
-
         goToDemoblaze();
     }
 
@@ -27,16 +30,16 @@ public class UserRegistrationTest extends BaseTest {
         System.out.println("\n=== TEST: Signup Modal Opens ===");
 
         // Click signup link
-        homePage.clickSignup();
+        homePage().clickSignup();
 
         // Verify modal opens
-        Assert.assertTrue(signupModal.isModalDisplayed(),
+        Assert.assertTrue(signupModal().isModalDisplayed(),
                 "Signup modal should be displayed");
 
         System.out.println("✓ Signup modal opened");
 
         // Close modal
-        signupModal.clickClose();
+        signupModal().clickClose();
 
         System.out.println("✓ Test PASSED");
     }
@@ -45,25 +48,25 @@ public class UserRegistrationTest extends BaseTest {
     public void testSignupWithRandomUser() {
         System.out.println("\n=== TEST: Signup with Random User ===");
 
-        homePage.clickSignup();
+        homePage().clickSignup();
 
-        // Generate random username
-        String randomUser = "testuser_" + System.currentTimeMillis();
-        String password = "Test@123";
+        // Unique username, also when tests run in parallel or in forked JVMs
+        TestDataGenerator.TestUser user = getTestUser();
+        String randomUser = user.username;
+        String password = user.password;
 
         System.out.println("Attempting signup with: " + randomUser);
 
         // Fill signup form
-        signupModal.enterUsername(randomUser);
-        signupModal.enterPassword(password);
-        signupModal.clickSignup();
+        signupModal().enterUsername(randomUser);
+        signupModal().enterPassword(password);
+        signupModal().clickSignup();
 
         // Handle alert
         try {
-            Thread.sleep(2000);
-            String alertText = driver.switchTo().alert().getText();
+            String alertText = waitHelper().waitForAlert().getText();
             System.out.println("Alert: " + alertText);
-            driver.switchTo().alert().accept();
+            getDriver().switchTo().alert().accept();
 
             // Check if successful or user exists
             if (alertText.contains("successful") || alertText.contains("Sign up")) {
@@ -82,22 +85,21 @@ public class UserRegistrationTest extends BaseTest {
     public void testEmptySignupForm() {
         System.out.println("\n=== TEST: Empty Signup Form ===");
 
-        homePage.clickSignup();
+        homePage().clickSignup();
 
         // Try to signup with empty fields
-        signupModal.clickSignup();
+        signupModal().clickSignup();
 
         // Handle alert
         try {
-            Thread.sleep(1000);
-            String alertText = driver.switchTo().alert().getText();
+            String alertText = waitHelper().waitForAlert().getText();
             System.out.println("Empty form alert: " + alertText);
-            driver.switchTo().alert().accept();
+            getDriver().switchTo().alert().accept();
         } catch (Exception e) {
             System.out.println("No alert: " + e.getMessage());
         }
 
-        signupModal.clickClose();
+        signupModal().clickClose();
         System.out.println("✓ Test completed");
     }
 }
\ No newline at end of file
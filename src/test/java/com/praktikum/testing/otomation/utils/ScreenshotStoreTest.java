@@ -0,0 +1,64 @@
+package com.praktikum.testing.otomation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Garbage collection of the content-addressed screenshot store, no browser needed.
+// Runs in its own temp directory, not in screenshots/.
+public class ScreenshotStoreTest {
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private Path root;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("screenshot-store");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteRoot() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    // Same failure screen every night: the old name goes, the new one and the shared blob stay
+    @Test
+    public void testOldNameOfDuplicateImageIsCollected() throws IOException {
+        byte[] image = "same failure screen".getBytes(StandardCharsets.UTF_8);
+        Instant now = Instant.now();
+        Path first = root.resolve("checkout_FAILED_1.png");
+        Path second = root.resolve("checkout_FAILED_2.png");
+
+        ScreenshotStore.store(root, image, "png", first, now.minus(RETENTION).minus(Duration.ofDays(1)));
+        ScreenshotStore.store(root, image, "png", second, now);
+        ScreenshotStore.collectGarbage(root, now.minus(RETENTION));
+
+        Assert.assertFalse(Files.exists(first), "Name older than the retention should be collected");
+        Assert.assertTrue(Files.exists(second), "Recent name should be kept");
+        Assert.assertEquals(Files.readAllBytes(second), image);
+        Assert.assertEquals(blobCount(), 1, "Blob is still linked from the recent name");
+
+        // Once the last name is old too, the blob goes with it
+        ScreenshotStore.collectGarbage(root, now.plus(Duration.ofMinutes(1)));
+        Assert.assertFalse(Files.exists(second));
+        Assert.assertEquals(blobCount(), 0, "Unreferenced blob should be collected");
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("store"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".png")).count();
+        }
+    }
+}